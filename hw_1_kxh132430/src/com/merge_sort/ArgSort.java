@@ -0,0 +1,166 @@
+/**
+ * @(#)ArgSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The ArgSort class computes the sorted order of a key array without moving the keys:
+ * it returns the permutation I with keys[I[0]] <= keys[I[1]] <= ... <= keys[I[n-1]].
+ * Equal keys keep their original order, so the permutation is stable and can be used to
+ * reorder several columns at once.
+ *
+ * The indices are sorted by Merge Sort Algorithm 3 (AlternateMergeSort), ping-ponging
+ * between the index array and a single auxiliary index array.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class ArgSort {
+
+	/**
+	 * Sort 			Return the stable sorted order of keys
+	 */
+	static int[] Sort(int[] keys) {
+
+		int n = keys.length;
+		int[] I = Identity(n);
+		int[] J = new int[n];	// The global auxiliary index array
+
+		// If depth is odd, the sorted indices are in J
+		int h = AlternateMergeSort(keys, I, J, 0, n-1);
+		return ((h&1)==1) ? J : I;
+	}
+
+	/**
+	 * ParallelSort 	Return the stable sorted order of keys, sorting on the fork-join pool of kxh132430Sort
+	 */
+	static int[] ParallelSort(int[] keys) {
+
+		int n = keys.length;
+		int[] I = Identity(n);
+		int[] J = new int[n];	// The global auxiliary index array shared by all the tasks
+
+		// If depth is odd, the sorted indices are in J
+		int h = kxh132430Sort.POOL.invoke(new ArgSortTask(keys, I, J, 0, n-1));
+		return ((h&1)==1) ? J : I;
+	}
+
+	/**
+	 * Identity 		Return the permutation 0, 1, ..., n-1
+	 */
+	static int[] Identity(int n) {
+
+		int[] I = new int[n];
+		for(int i = 0; i < n; i++) {
+			I[i] = i;
+		}
+		return I;
+	}
+
+	/**
+	 * AlternateMergeSort 	Sort the indices I[p...r] by their keys into I or J
+	 * @return 				the depth of the recursion tree: if odd, the result is in J
+	 */
+	static int AlternateMergeSort(int[] keys, int[] I, int[] J, int p, int r) {
+
+		if(p<r){
+
+			if((r-p)>kxh132430Sort.CUTOFF){
+
+				int q = p + ((r-p)>>1); // Get the medium element by shifting
+
+				int h1 = AlternateMergeSort(keys, I, J, p, q);
+				int h2 = AlternateMergeSort(keys, I, J, q+1, r);
+
+				return AlternateCombine(keys, I, J, p, q, r, h1, h2);	// return the depth of the merged array
+
+			} else {  // Insertion sort
+				for(int i=p, j=i; i<r; j=++i) {
+					int ii = I[i+1];
+					int ki = keys[ii];
+					while(ki < keys[I[j]]) {
+						I[j+1] = I[j];
+						if (j-- == p) {
+							break;
+						}
+					}
+					I[j+1] = ii;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * AlternateCombine 	Merge the sorted halves of depths h1 and h2 into the array opposite to the left half
+	 * @return 				the depth of the merged array
+	 */
+	static int AlternateCombine(int[] keys, int[] I, int[] J, int p, int q, int r, int h1, int h2) {
+
+		//If h1 is odd, copy data from J to I, otherwise from I to J
+		if((h1&1)==1){
+			if(h1!=h2){	// Copy I[q+1...r] to J[q+1...r], then merge with J[p...q]
+				System.arraycopy(I, q+1, J, q+1, r-q);
+			}
+			AlternateMerge(keys, J, I, p, q, r);
+		} else {
+			if(h1!=h2){	// Copy J[q+1...r] to I[q+1...r], then merge with I[p...q]
+				System.arraycopy(J, q+1, I, q+1, r-q);
+			}
+			AlternateMerge(keys, I, J, p, q, r);
+		}
+		return ++h1;
+	}
+
+	/**
+	 * AlternateMerge 	Merge the indices src[p...q] and src[q+1...r] by their keys into dest[p...r]
+	 */
+	static void AlternateMerge(int[] keys, int[] src, int[] dest, int p, int q, int r) {
+
+		int i = p; int j = q+1;
+
+		for(int k=p; k<=r; k++) {
+			if ((j>r) || ((i<=q) && (keys[src[i]] <= keys[src[j]])))
+				dest[k] = src[i++];
+			else
+				dest[k] = src[j++];
+		}
+	}
+
+	/**
+	 * ArgSortTask 	Sort the indices I[p...r] into I or J, returning the depth of the recursion tree
+	 */
+	static class ArgSortTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		final int[] keys, I, J;
+		final int p, r;
+
+		ArgSortTask(int[] keys, int[] I, int[] J, int p, int r) {
+			this.keys = keys; this.I = I; this.J = J; this.p = p; this.r = r;
+		}
+
+		@Override
+		protected Integer compute() {
+
+			// PARALLEL_THRESHOLD > CUTOFF keeps the split points identical to the sequential algorithm
+			if((r-p) < kxh132430Sort.PARALLEL_THRESHOLD){
+				return AlternateMergeSort(keys, I, J, p, r);
+			}
+
+			int q = p + ((r-p)>>1); // Get the medium element by shifting
+
+			// Sort the left half in another task while this thread sorts the right half
+			ArgSortTask left = new ArgSortTask(keys, I, J, p, q);
+			left.fork();
+			int h2 = new ArgSortTask(keys, I, J, q+1, r).compute();
+			int h1 = left.join();
+
+			return AlternateCombine(keys, I, J, p, q, r, h1, h2);
+		}
+	}
+}
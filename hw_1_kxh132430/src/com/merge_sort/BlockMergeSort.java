@@ -0,0 +1,197 @@
+/**
+ * @(#)BlockMergeSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import java.util.Random;
+
+/**
+ * The BlockMergeSort class implements a non-recursive, bottom-up merge sort that
+ * works in cache sized pieces. First every block of BLOCK elements is sorted on its own
+ * while it stays in the L2 cache; then the sorted blocks are merged pass by pass,
+ * ping-ponging between A and B as in AlternateMergeSort. Each pass can merge 4 runs at
+ * once instead of 2, which halves the number of passes over memory.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class BlockMergeSort {
+
+	static final int BLOCK = 1<<15;	// 128 KB of A and 128 KB of B fit in a 256 KB L2 cache
+
+	static final long EXHAUSTED = Long.MAX_VALUE;	// The head of an empty run in Merge4
+
+	/**
+	 * BottomUpMergeSort 	Sort A[p...r] bottom-up
+	 * @param fourWay		whether the passes over the sorted blocks merge 4 runs at a time
+	 * @return				the number of passes over the blocks: if odd, the sorted data is in B
+	 */
+	static int BottomUpMergeSort(int[] A, int[]B, int p, int r, boolean fourWay) {
+		return BottomUpMergeSort(A, B, p, r, fourWay, kxh132430Sort.CUTOFF);
+	}
+
+	/**
+	 * BottomUpMergeSort 	Sort A[p...r] bottom-up, from leaves of cutoff+1 elements sorted by insertion sort
+	 */
+	static int BottomUpMergeSort(int[] A, int[]B, int p, int r, boolean fourWay, int cutoff) {
+
+		// Phase 1: sort every block in place
+		for(long s = p; s <= r; s += BLOCK) {
+			SortBlock(A, B, (int) s, (int) Math.min(s+BLOCK-1, r), cutoff);
+		}
+
+		// Phase 2: merge runs of width w, alternating between A and B
+		int[] src = A, dest = B;
+		int h = 0;
+		long n = r-p+1;
+
+		for(long w = BLOCK; w < n; h++) {
+
+			if(fourWay && 2*w < n) {
+				for(long s = p; s <= r; s += 4*w) {
+					int b = (int) Math.min(s+w, r+1), c = (int) Math.min(s+2*w, r+1), d = (int) Math.min(s+3*w, r+1);
+					int e = (int) Math.min(s+4*w, r+1);
+					Merge4(src, dest, (int) s, b, c, d, e);
+				}
+				w *= 4;
+			} else {
+				for(long s = p; s <= r; s += 2*w) {
+					int q = (int) Math.min(s+w-1, r), e = (int) Math.min(s+2*w-1, r);
+					if(q < e) {
+						kxh132430Sort.AlternateMerge(src, dest, (int) s, q, e);
+					} else {	// A single run is left
+						System.arraycopy(src, (int) s, dest, (int) s, e-(int) s+1);
+					}
+				}
+				w *= 2;
+			}
+
+			int[] temp = src; src = dest; dest = temp;
+		}
+		return h;
+	}
+
+	/**
+	 * SortBlock 		Sort A[p...r] bottom-up within A and B and leave the result in A
+	 */
+	static void SortBlock(int[] A, int[]B, int p, int r, int cutoff) {
+
+		int leaf = cutoff+1;
+
+		// Insertion sort every leaf; l is a long, since s+leaf may pass Integer.MAX_VALUE
+		for(long l = p; l <= r; l += leaf) {
+			int s = (int) l, e = (int) Math.min(l+leaf-1, r);
+			for(int i=s, j=i; i<e; j=++i) {
+				int ai = A[i+1];
+				while(ai < A[j]) {
+					A[j+1] = A[j];
+					if (j-- == s) {
+						break;
+					}
+				}
+				A[j+1] = ai;
+			}
+		}
+
+		// Merge pairs of runs of width w, alternating between A and B
+		int[] src = A, dest = B;
+		int n = r-p+1;
+
+		for(int w = leaf; w < n; w <<= 1) {
+
+			for(long l = p; l <= r; l += 2*w) {
+				int s = (int) l, q = (int) Math.min(l+w-1, r), e = (int) Math.min(l+2*w-1, r);
+				if(q < e) {
+					kxh132430Sort.AlternateMerge(src, dest, s, q, e);
+				} else {	// A single run is left
+					System.arraycopy(src, s, dest, s, e-s+1);
+				}
+			}
+
+			int[] temp = src; src = dest; dest = temp;
+		}
+
+		// An odd number of passes left the block in B; it is still in the cache
+		if(src != A) {
+			System.arraycopy(B, p, A, p, n);
+		}
+	}
+
+	/**
+	 * Merge4 			Merge the runs src[a...b-1], src[b...c-1], src[c...d-1] and src[d...e-1]
+	 * 					into dest[a...e-1]. Each element is chosen by a tournament of 3 comparisons,
+	 * 					and ties go to the earlier run.
+	 */
+	static void Merge4(int[] src, int[]dest, int a, int b, int c, int d, int e) {
+
+		int i0 = a, i1 = b, i2 = c, i3 = d;
+
+		// The heads of the runs, or EXHAUSTED
+		long v0 = i0 < b ? src[i0] : EXHAUSTED;
+		long v1 = i1 < c ? src[i1] : EXHAUSTED;
+		long v2 = i2 < d ? src[i2] : EXHAUSTED;
+		long v3 = i3 < e ? src[i3] : EXHAUSTED;
+
+		for(int k = a; k < e; k++) {
+
+			int w;	// The winning run
+			if(v0 <= v1) {
+				if(v2 <= v3) w = v0 <= v2 ? 0 : 2;
+				else 		 w = v0 <= v3 ? 0 : 3;
+			} else {
+				if(v2 <= v3) w = v1 <= v2 ? 1 : 2;
+				else 		 w = v1 <= v3 ? 1 : 3;
+			}
+
+			switch(w) {
+				case 0:	dest[k] = (int) v0; v0 = ++i0 < b ? src[i0] : EXHAUSTED; break;
+				case 1:	dest[k] = (int) v1; v1 = ++i1 < c ? src[i1] : EXHAUSTED; break;
+				case 2:	dest[k] = (int) v2; v2 = ++i2 < d ? src[i2] : EXHAUSTED; break;
+				default:	dest[k] = (int) v3; v3 = ++i3 < e ? src[i3] : EXHAUSTED; break;
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+
+		// Take integer n from command line as input; by default 2^25 ints (128 MB), larger than the last level cache
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1<<25;
+
+		// Every algorithm sorts the same random input
+		int[] source = new int[n];
+		Random random = new Random(n);
+		for(int i = 0; i < n; i++) {
+			source[i] = random.nextInt();
+		}
+
+		int[] A = new int[n];
+		int[] B = new int[n];
+		String[] names = {"MergeSort", "AuxillaryMergeSort", "AlternateMergeSort", "BottomUpMergeSort", "BottomUpMergeSort (4-way)"};
+
+		for(int a = 0; a < names.length; a++) {
+
+			System.arraycopy(source, 0, A, 0, n);
+			int[] sorted = A;
+
+			long startTime = System.currentTimeMillis();
+			switch(a) {
+				case 0: kxh132430Sort.MergeSort(A, 0, n-1); break;
+				case 1: kxh132430Sort.AuxillaryMergeSort(A, B, 0, n-1); break;
+				case 2: sorted = (kxh132430Sort.AlternateMergeSort(A, B, 0, n-1)&1)==1 ? B : A; break;
+				case 3: sorted = (BottomUpMergeSort(A, B, 0, n-1, false)&1)==1 ? B : A; break;
+				default: sorted = (BottomUpMergeSort(A, B, 0, n-1, true)&1)==1 ? B : A; break;
+			}
+			long endTime = System.currentTimeMillis();
+
+			// Test whether the algorithm succeeded in sorting the array.
+			for (int j = 0; j < n-1; j++) {
+				if(sorted[j] > sorted[j+1]) {
+					System.out.println("Sorting failed :-(");
+					return;
+				}
+			}
+			System.out.println(names[a] + " took " + (endTime - startTime) + " milliseconds");
+		}
+	}
+}
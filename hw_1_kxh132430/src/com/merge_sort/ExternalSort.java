@@ -0,0 +1,348 @@
+/**
+ * @(#)ExternalSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ExternalSort class sorts a binary file of ints that does not fit in the heap.
+ * The file is read through memory mapped windows in chunks that fit in memory, every chunk
+ * is sorted by AlternateMergeSort and spilled to a temporary run file, and the runs are
+ * merged with a loser tree into the output file.
+ *
+ * Ints are stored as 4 bytes in big-endian order (the order of DataOutputStream).
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class ExternalSort {
+
+	static final ByteOrder ORDER = ByteOrder.BIG_ENDIAN;	// The byte order of the int files
+
+	static final int MAP_BYTES = 1<<30;			// The largest window mapped at a time
+	static final int WRITE_BUFFER = 1<<23;		// The buffer of every file written, in bytes
+	static final int MERGE_BUFFER = 1<<26;		// The buffers of all runs read during the merge, in bytes
+	static final int MIN_RUN_BUFFER = 1<<16;	// The smallest buffer of a run read during the merge, in bytes
+
+	/**.
+	 * @param args[0]		the file of ints to sort
+	 * @param args[1]		the sorted file to write
+	 * @param args[2]		optional, the number of ints sorted in memory at a time
+	 */
+	public static void main(String[] args) throws IOException {
+
+		Path input = Paths.get(args[0]);
+		Path output = Paths.get(args[1]);
+		int chunk = args.length > 2 ? Integer.parseInt(args[2]) : DefaultChunk();
+
+		long startTime = System.currentTimeMillis();
+		long n = Sort(input, output, chunk, output.toAbsolutePath().getParent());
+		long endTime = System.currentTimeMillis();
+
+		System.out.println("Sorted " + n + " integers in " + (endTime - startTime) + " milliseconds");
+	}
+
+	/**
+	 * DefaultChunk 	The number of ints that can be sorted in memory: A and B take 8 bytes per int,
+	 * 					and half the heap is left for everything else
+	 */
+	static int DefaultChunk() {
+		long ints = Runtime.getRuntime().maxMemory() / 16;
+		return (int) Math.max(1, Math.min(ints, Integer.MAX_VALUE - 8));
+	}
+
+	/**
+	 * Sort 			Sort the ints in input into output
+	 * @param chunk		the number of ints sorted in memory at a time
+	 * @param tempDir	the directory of the run files
+	 * @return			the number of ints sorted
+	 */
+	static long Sort(Path input, Path output, int chunk, Path tempDir) throws IOException {
+
+		List<Path> runs = new ArrayList<Path>();
+
+		try {
+			long n = SpillRuns(input, chunk, tempDir, runs);
+
+			if(runs.size() == 1) {
+				Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+				runs.clear();
+			} else {
+				MergeRuns(runs, output);
+			}
+			return n;
+
+		} finally {
+			for(Path run : runs) {
+				Files.deleteIfExists(run);
+			}
+		}
+	}
+
+	/**
+	 * SpillRuns 		Sort input chunk by chunk and write every sorted chunk to a run file
+	 * @return			the number of ints in input
+	 */
+	static long SpillRuns(Path input, int chunk, Path tempDir, List<Path> runs) throws IOException {
+
+		try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+
+			long size = in.size();
+			if((size & 3) != 0) {
+				throw new IOException(input + " is not a file of ints: " + size + " bytes");
+			}
+			long n = size >> 2;
+
+			// The global arrays A and B are allocated once and reused by every chunk
+			int length = (int) Math.max(1, Math.min(chunk, n));
+			int[] A = new int[length];
+			int[] B = new int[length];
+
+			for(long start = 0; start < n || runs.isEmpty(); start += length) {
+
+				int len = (int) Math.min(length, n - start);
+
+				// Read A[0...len-1] through windows of at most MAP_BYTES
+				for(int i = 0; i < len; ) {
+					int ints = Math.min(len - i, MAP_BYTES >> 2);
+					IntBuffer window = in.map(FileChannel.MapMode.READ_ONLY, (start + i) << 2, (long) ints << 2).order(ORDER).asIntBuffer();
+					window.get(A, i, ints);
+					i += ints;
+				}
+
+				// If the depth is odd, the sorted data is in B
+				int h = kxh132430Sort.AlternateMergeSort(A, B, 0, len-1);
+				int[] S = ((h&1)==1) ? B : A;
+
+				Path run = Files.createTempFile(tempDir, "run", ".bin");
+				runs.add(run);
+
+				try (IntWriter out = new IntWriter(run, WRITE_BUFFER)) {
+					out.write(S, len);
+				}
+			}
+			return n;
+		}
+	}
+
+	/**
+	 * MergeRuns 		Merge the sorted run files into output with a loser tree
+	 */
+	static void MergeRuns(List<Path> runs, Path output) throws IOException {
+
+		int k = runs.size();
+		int buffer = Math.max(MIN_RUN_BUFFER, (MERGE_BUFFER / k) & ~3);
+
+		IntReader[] readers = new IntReader[k];
+		try (IntWriter out = new IntWriter(output, WRITE_BUFFER)) {
+
+			for(int i = 0; i < k; i++) {
+				readers[i] = new IntReader(runs.get(i), buffer);
+			}
+
+			LoserTree tree = new LoserTree(readers);
+
+			while(tree.hasNext()) {
+				out.write(tree.next());
+			}
+
+		} finally {
+			for(IntReader reader : readers) {
+				if(reader != null) reader.close();
+			}
+		}
+	}
+
+	/**
+	 * The LoserTree class repeatedly selects the smallest head of k sorted runs with
+	 * ceil(log k) comparisons. Every internal node keeps the loser of the match played there,
+	 * and node 0 keeps the overall winner. Ties go to the run that comes first in the input.
+	 */
+	static class LoserTree {
+
+		final IntReader[] runs;
+		final long[] key;	// The current head of every run, or EXHAUSTED
+		final int[] tree;	// tree[0] is the winner, tree[1...k-1] are the losers
+		final int k;
+
+		static final long EXHAUSTED = Long.MAX_VALUE;	// Greater than every int
+
+		LoserTree(IntReader[] runs) throws IOException {
+
+			this.runs = runs;
+			this.k = runs.length;
+			this.key = new long[k];
+			this.tree = new int[k];
+
+			for(int i = 0; i < k; i++) {
+				key[i] = runs[i].hasNext() ? runs[i].next() : EXHAUSTED;
+				tree[i] = -1;	// An empty node keeps the first winner that comes up to it
+			}
+			for(int i = k-1; i >= 0; i--) {
+				Adjust(i);
+			}
+		}
+
+		boolean hasNext() {
+			return key[tree[0]] != EXHAUSTED;
+		}
+
+		/**
+		 * next 		Remove and return the smallest head
+		 */
+		int next() throws IOException {
+
+			int w = tree[0];
+			int value = (int) key[w];
+
+			key[w] = runs[w].hasNext() ? runs[w].next() : EXHAUSTED;
+			Adjust(w);
+
+			return value;
+		}
+
+		/**
+		 * Adjust 		Replay the matches from leaf s up to the root
+		 */
+		void Adjust(int s) {
+
+			for(int t = (s + k) >>> 1; t > 0; t >>>= 1) {
+
+				if(tree[t] == -1) {	// Only while the tree is built
+					tree[t] = s;
+					return;
+				}
+
+				// The loser stays at t and the winner goes on
+				int o = tree[t];
+				if(key[o] < key[s] || (key[o] == key[s] && o < s)) {
+					tree[t] = s;
+					s = o;
+				}
+			}
+			tree[0] = s;
+		}
+	}
+
+	/**
+	 * The IntReader class reads a file of ints sequentially through a large buffer.
+	 */
+	static class IntReader implements AutoCloseable {
+
+		final FileChannel channel;
+		final ByteBuffer buffer;
+		long remaining;		// The number of ints not read yet
+
+		IntReader(Path file, int bytes) throws IOException {
+
+			channel = FileChannel.open(file, StandardOpenOption.READ);
+			buffer = ByteBuffer.allocateDirect(bytes).order(ORDER);
+			buffer.flip();
+			remaining = channel.size() >> 2;
+		}
+
+		boolean hasNext() {
+			return remaining > 0;
+		}
+
+		int next() throws IOException {
+
+			if(buffer.remaining() < 4) {
+				Fill();
+			}
+			remaining--;
+			return buffer.getInt();
+		}
+
+		/**
+		 * Fill 		Refill the buffer, keeping the bytes of a partly read int
+		 */
+		void Fill() throws IOException {
+
+			buffer.compact();
+			while(buffer.hasRemaining() && channel.read(buffer) > 0) {
+				// Read as much as the buffer holds
+			}
+			buffer.flip();
+
+			if(buffer.remaining() < 4) {
+				throw new IOException("Unexpected end of run file");
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	/**
+	 * The IntWriter class writes ints to a file sequentially through a large buffer.
+	 */
+	static class IntWriter implements AutoCloseable {
+
+		final FileChannel channel;
+		final ByteBuffer buffer;
+
+		IntWriter(Path file, int bytes) throws IOException {
+
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			buffer = ByteBuffer.allocateDirect(bytes).order(ORDER);
+		}
+
+		void write(int value) throws IOException {
+
+			if(buffer.remaining() < 4) {
+				Flush();
+			}
+			buffer.putInt(value);
+		}
+
+		/**
+		 * write 		Write S[0...len-1]
+		 */
+		void write(int[] S, int len) throws IOException {
+
+			for(int i = 0; i < len; ) {
+				if(buffer.remaining() < 4) {
+					Flush();
+				}
+				int ints = Math.min(len - i, buffer.remaining() >> 2);
+				buffer.asIntBuffer().put(S, i, ints);
+				buffer.position(buffer.position() + (ints << 2));
+				i += ints;
+			}
+		}
+
+		void Flush() throws IOException {
+
+			buffer.flip();
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				Flush();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * @(#)IncrementalSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The IncrementalSort class keeps ints that arrive in batches sorted, so that a sorted
+ * view can be taken at any time without sorting everything received so far again.
+ *
+ * Every batch is appended to A, sorted there by AlternateMergeSort and kept as a run.
+ * Runs sit next to each other in A like the levels of an LSM tree: whenever the run below
+ * the newest one is at most twice as long, the two are merged with AuxillaryMerge into
+ * one run, using the global auxiliary array B. The run lengths therefore at least double
+ * from the newest run down, each element is merged O(log n) times, and there are at most
+ * O(log n) runs to merge when a snapshot is taken.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class IncrementalSort {
+
+	static final int MAX_RUNS = 40;	// Lengths at least double down the stack, so 40 runs hold any int[]
+
+	int[] A = new int[16];		// The data received, as consecutive sorted runs
+	int[] B = new int[16];		// The global auxiliary array, as long as A
+	int size = 0;				// The number of ints received
+
+	int[] runBase = new int[MAX_RUNS];	// Run i is A[runBase[i]...runBase[i]+runLen[i]-1]
+	int[] runLen = new int[MAX_RUNS];
+	int runs = 0;
+
+	/**
+	 * Add 				Receive batch[off...off+len-1]
+	 */
+	void Add(int[] batch, int off, int len) {
+
+		if(len <= 0) return;
+
+		// Grow A and B by doubling
+		if(size + len > A.length) {
+			int capacity = Math.max(A.length * 2, size + len);
+			A = Arrays.copyOf(A, capacity);
+			B = new int[capacity];
+		}
+
+		// Sort the batch where it lands; if depth is odd, the sorted data is in B
+		System.arraycopy(batch, off, A, size, len);
+		int h = kxh132430Sort.AlternateMergeSort(A, B, size, size+len-1);
+		if((h&1)==1) {
+			System.arraycopy(B, size, A, size, len);
+		}
+
+		runBase[runs] = size;
+		runLen[runs++] = len;
+		size += len;
+
+		// Merge runs of similar size
+		while(runs > 1 && runLen[runs-2] <= 2 * runLen[runs-1]) {
+			MergeTop();
+		}
+	}
+
+	/**
+	 * Snapshot 		Return all the ints received so far in sorted order
+	 */
+	int[] Snapshot() {
+
+		while(runs > 1) {
+			MergeTop();
+		}
+		return Arrays.copyOf(A, size);
+	}
+
+	/**
+	 * MergeTop 		Merge the two newest runs
+	 */
+	void MergeTop() {
+
+		int p = runBase[runs-2];
+		int q = runBase[runs-1] - 1;
+		int r = q + runLen[runs-1];
+
+		kxh132430Sort.AuxillaryMerge(A, B, p, q, r);
+
+		runLen[runs-2] += runLen[runs-1];
+		runs--;
+	}
+
+	public static void main(String[] args) {
+
+		// Take the number of integers n and the batch size from command line as input
+		int n = Integer.parseInt(args[0]);
+		int batch = Integer.parseInt(args[1]);
+
+		int[] data = new int[n];
+		Random random = new Random(n);
+		for(int i = 0; i < n; i++) {
+			data[i] = random.nextInt();
+		}
+
+		// Receive the data batch by batch, taking a snapshot after every 100 batches
+		IncrementalSort sorter = new IncrementalSort();
+		int[] sorted = new int[0];
+
+		long startTime = System.currentTimeMillis();
+		for(int off = 0, b = 1; off < n; off += batch, b++) {
+			sorter.Add(data, off, Math.min(batch, n - off));
+			if(b % 100 == 0 || off + batch >= n) {
+				sorted = sorter.Snapshot();
+			}
+		}
+		long endTime = System.currentTimeMillis();
+
+		// Test whether the snapshot is the sorted data.
+		int[] expected = data.clone();
+		Arrays.sort(expected);
+		if(!Arrays.equals(sorted, expected)) {
+			System.out.println("Sorting failed :-(");
+			return;
+		}
+		System.out.println("Success!");
+		System.out.println("Incremental sort took " + (endTime - startTime) + " milliseconds");
+	}
+}
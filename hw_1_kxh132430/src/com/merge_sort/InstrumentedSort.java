@@ -0,0 +1,80 @@
+/**
+ * @(#)InstrumentedSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+/**
+ * The InstrumentedSort class runs the 3 versions of merge sort of kxh132430Sort with the
+ * counters of kxh132430Sort.METRICS on, which record comparisons, element moves, bytes copied
+ * between arrays, insertion sort leaves and the recursion depth, and commits them as a
+ * SortEvent to Java Flight Recorder. The sorts are the very code of kxh132430Sort, so the
+ * counters always describe the algorithm that runs.
+ *
+ * The counters exist only with -Dmerge_sort.metrics=true; without it kxh132430Sort keeps
+ * running without counters or allocation.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class InstrumentedSort {
+
+	static final String[] NAMES = {"MergeSort", "AuxillaryMergeSort", "AlternateMergeSort"};
+
+	/**
+	 * Sort 			Sort A with algorithm 1, 2 or 3 of kxh132430Sort, using B as the auxiliary array
+	 * @return			the counters of the sort
+	 * @throws IllegalStateException	if the JVM runs without -Dmerge_sort.metrics=true
+	 */
+	static SortMetrics Sort(int algorithm, int[] A, int[]B) {
+
+		SortMetrics m = kxh132430Sort.METRICS;
+		if(m == null) {
+			throw new IllegalStateException("InstrumentedSort needs -Dmerge_sort.metrics=true");
+		}
+		if(algorithm < 1 || algorithm > 3) {
+			throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+		}
+
+		int n = A.length;
+		SortEvent event = new SortEvent();
+		event.begin();
+
+		SortMetrics result;
+		synchronized(m) {	// One instrumented sort at a time, as the counters are shared
+			m.Reset(NAMES[algorithm-1], n);
+			switch(algorithm) {
+				case 1: kxh132430Sort.MergeSort(A, 0, n-1); break;
+				case 2: kxh132430Sort.AuxillaryMergeSort(A, B, 0, n-1); break;
+				default: m.h = kxh132430Sort.AlternateMergeSort(A, B, 0, n-1); break;
+			}
+			result = new SortMetrics(m);
+		}
+
+		event.end();
+		if(event.shouldCommit()) {
+			event.Set(result);
+			event.commit();
+		}
+		return result;
+	}
+
+	public static void main(String[] args) {
+
+		// Take integer n from command line as input
+		int n = Integer.parseInt(args[0]);
+
+		int[] A = new int[n];
+		int[] B = new int[n];
+
+		for(int algorithm = 1; algorithm <= 3; algorithm++) {
+
+			// Populate A with numbers in reverse sorted order.
+			for (int i = 0; i < n; i++) {
+				A[i] = n-i;
+			}
+
+			System.out.println(Sort(algorithm, A, B));
+		}
+	}
+}
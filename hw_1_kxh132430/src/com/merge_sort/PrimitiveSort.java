@@ -0,0 +1,285 @@
+/**
+ * @(#)PrimitiveSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+/**
+ * The PrimitiveSort class implements Merge Sort Algorithm 3 (AlternateMergeSort) for
+ * long[] and double[] keys, and for int[] and long[] keys that carry an int[] payload.
+ *
+ * As in kxh132430Sort, every sort returns the depth h of the recursion tree: if h is odd,
+ * the sorted data is in the auxiliary arrays (B, and Q for the payload), otherwise it is in
+ * A (and P). All sorts are stable and allocate nothing besides the arrays passed in.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class PrimitiveSort {
+
+	/**
+	 * AlternateMergeSort 	Merge Sort Algorithm 3 for long keys
+	 */
+	static int AlternateMergeSort(long[] A, long[]B, int p, int r) {
+
+		if(p<r){
+
+			if((r-p)>kxh132430Sort.CUTOFF){
+
+				int q = p + ((r-p)>>1); // Get the medium element by shifting
+
+				int h1 = AlternateMergeSort(A, B, p, q);
+				int h2 = AlternateMergeSort(A, B, q+1, r);
+
+				//If h1 is odd, copy data from B to A, otherwise from A to B
+				if((h1&1)==1){
+					if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+						System.arraycopy(A, q+1, B, q+1, r-q);
+					}
+					AlternateMerge(B, A, p, q, r);
+				} else {
+					if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+						System.arraycopy(B, q+1, A, q+1, r-q);
+					}
+					AlternateMerge(A, B, p, q, r);
+				}
+				return ++h1;	// return the depth of the merged array
+
+			} else {  // Insertion sort
+				for(int i=p, j=i; i<r; j=++i) {
+					long ai = A[i+1];
+					while(ai < A[j]) {
+						A[j+1] = A[j];
+						if (j-- == p) {
+							break;
+						}
+					}
+					A[j+1] = ai;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * AlternateMerge 	Merge src[p...q] and src[q+1...r] into dest[p...r]
+	 */
+	static void AlternateMerge(long[] src, long[]dest, int p, int q, int r) {
+
+		int i = p; int j = q+1;
+
+		for(int k=p; k<=r; k++) {
+			if ((j>r) || ((i<=q) && (src[i] <= src[j])))
+				dest[k] = src[i++];
+			else
+				dest[k] = src[j++];
+		}
+	}
+
+	/**
+	 * AlternateMergeSort 	Merge Sort Algorithm 3 for double keys, in the order of Double.compare:
+	 * 						-0.0 comes before 0.0 and NaN comes after everything else
+	 */
+	static int AlternateMergeSort(double[] A, double[]B, int p, int r) {
+
+		if(p<r){
+
+			if((r-p)>kxh132430Sort.CUTOFF){
+
+				int q = p + ((r-p)>>1); // Get the medium element by shifting
+
+				int h1 = AlternateMergeSort(A, B, p, q);
+				int h2 = AlternateMergeSort(A, B, q+1, r);
+
+				//If h1 is odd, copy data from B to A, otherwise from A to B
+				if((h1&1)==1){
+					if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+						System.arraycopy(A, q+1, B, q+1, r-q);
+					}
+					AlternateMerge(B, A, p, q, r);
+				} else {
+					if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+						System.arraycopy(B, q+1, A, q+1, r-q);
+					}
+					AlternateMerge(A, B, p, q, r);
+				}
+				return ++h1;	// return the depth of the merged array
+
+			} else {  // Insertion sort
+				for(int i=p, j=i; i<r; j=++i) {
+					double ai = A[i+1];
+					while(Less(ai, A[j])) {
+						A[j+1] = A[j];
+						if (j-- == p) {
+							break;
+						}
+					}
+					A[j+1] = ai;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * AlternateMerge 	Merge src[p...q] and src[q+1...r] into dest[p...r]
+	 */
+	static void AlternateMerge(double[] src, double[]dest, int p, int q, int r) {
+
+		int i = p; int j = q+1;
+
+		for(int k=p; k<=r; k++) {
+			if ((j>r) || ((i<=q) && !Less(src[j], src[i])))
+				dest[k] = src[i++];
+			else
+				dest[k] = src[j++];
+		}
+	}
+
+	/**
+	 * Less 			Return Double.compare(a, b) < 0, comparing plain numbers without the call
+	 */
+	static boolean Less(double a, double b) {
+		if(a < b) return true;
+		if(a > b) return false;
+		return Double.compare(a, b) < 0;	// Equal, signed zeros or NaN
+	}
+
+	/**
+	 * AlternateMergeSort 	Merge Sort Algorithm 3 for int keys A with the payload P.
+	 * 						P[i] moves together with A[i], using Q as the auxiliary payload array.
+	 */
+	static int AlternateMergeSort(int[] A, int[]B, int[] P, int[] Q, int p, int r) {
+
+		if(p<r){
+
+			if((r-p)>kxh132430Sort.CUTOFF){
+
+				int q = p + ((r-p)>>1); // Get the medium element by shifting
+
+				int h1 = AlternateMergeSort(A, B, P, Q, p, q);
+				int h2 = AlternateMergeSort(A, B, P, Q, q+1, r);
+
+				//If h1 is odd, copy data from B to A, otherwise from A to B
+				if((h1&1)==1){
+					if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+						System.arraycopy(A, q+1, B, q+1, r-q);
+						System.arraycopy(P, q+1, Q, q+1, r-q);
+					}
+					AlternateMerge(B, A, Q, P, p, q, r);
+				} else {
+					if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+						System.arraycopy(B, q+1, A, q+1, r-q);
+						System.arraycopy(Q, q+1, P, q+1, r-q);
+					}
+					AlternateMerge(A, B, P, Q, p, q, r);
+				}
+				return ++h1;	// return the depth of the merged array
+
+			} else {  // Insertion sort
+				for(int i=p, j=i; i<r; j=++i) {
+					int ai = A[i+1];
+					int pi = P[i+1];
+					while(ai < A[j]) {
+						A[j+1] = A[j];
+						P[j+1] = P[j];
+						if (j-- == p) {
+							break;
+						}
+					}
+					A[j+1] = ai;
+					P[j+1] = pi;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * AlternateMerge 	Merge src[p...q] and src[q+1...r] into dest[p...r], moving the payload
+	 * 					from srcP to destP along with the keys
+	 */
+	static void AlternateMerge(int[] src, int[]dest, int[] srcP, int[] destP, int p, int q, int r) {
+
+		int i = p; int j = q+1;
+
+		for(int k=p; k<=r; k++) {
+			if ((j>r) || ((i<=q) && (src[i] <= src[j]))) {
+				destP[k] = srcP[i];
+				dest[k] = src[i++];
+			} else {
+				destP[k] = srcP[j];
+				dest[k] = src[j++];
+			}
+		}
+	}
+
+	/**
+	 * AlternateMergeSort 	Merge Sort Algorithm 3 for long keys A with the payload P.
+	 * 						P[i] moves together with A[i], using Q as the auxiliary payload array.
+	 */
+	static int AlternateMergeSort(long[] A, long[]B, int[] P, int[] Q, int p, int r) {
+
+		if(p<r){
+
+			if((r-p)>kxh132430Sort.CUTOFF){
+
+				int q = p + ((r-p)>>1); // Get the medium element by shifting
+
+				int h1 = AlternateMergeSort(A, B, P, Q, p, q);
+				int h2 = AlternateMergeSort(A, B, P, Q, q+1, r);
+
+				//If h1 is odd, copy data from B to A, otherwise from A to B
+				if((h1&1)==1){
+					if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+						System.arraycopy(A, q+1, B, q+1, r-q);
+						System.arraycopy(P, q+1, Q, q+1, r-q);
+					}
+					AlternateMerge(B, A, Q, P, p, q, r);
+				} else {
+					if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+						System.arraycopy(B, q+1, A, q+1, r-q);
+						System.arraycopy(Q, q+1, P, q+1, r-q);
+					}
+					AlternateMerge(A, B, P, Q, p, q, r);
+				}
+				return ++h1;	// return the depth of the merged array
+
+			} else {  // Insertion sort
+				for(int i=p, j=i; i<r; j=++i) {
+					long ai = A[i+1];
+					int pi = P[i+1];
+					while(ai < A[j]) {
+						A[j+1] = A[j];
+						P[j+1] = P[j];
+						if (j-- == p) {
+							break;
+						}
+					}
+					A[j+1] = ai;
+					P[j+1] = pi;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * AlternateMerge 	Merge src[p...q] and src[q+1...r] into dest[p...r], moving the payload
+	 * 					from srcP to destP along with the keys
+	 */
+	static void AlternateMerge(long[] src, long[]dest, int[] srcP, int[] destP, int p, int q, int r) {
+
+		int i = p; int j = q+1;
+
+		for(int k=p; k<=r; k++) {
+			if ((j>r) || ((i<=q) && (src[i] <= src[j]))) {
+				destP[k] = srcP[i];
+				dest[k] = src[i++];
+			} else {
+				destP[k] = srcP[j];
+				dest[k] = src[j++];
+			}
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * @(#)RadixSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The RadixSort class implements a byte-wise LSD radix sort of ints, and a dispatcher that
+ * picks radix sort, AlternateMergeSort or insertion sort for an array.
+ *
+ * Like AlternateMergeSort, the radix sort moves the data back and forth between A and the
+ * global auxiliary array B, and returns a number h: if h is odd, the sorted data is in B.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class RadixSort {
+
+	static final int RADIX_THRESHOLD = 1<<12;			// Smaller arrays are always merge sorted
+	static final int PARALLEL_HISTOGRAM_THRESHOLD = 1<<20;	// Smaller arrays are counted by a single thread
+	static final int HISTOGRAM_SLICE = 1<<16;			// Elements counted by one task of the parallel histogram
+	static final int SAMPLE = 1024;						// Elements sampled to estimate the key range
+	static final int PASS_COST = 2;						// A radix pass costs about as much as 2 merge levels
+
+	/**
+	 * Sort 			Sort A[p...r] with the algorithm that suits its size and key range
+	 * @return			if odd, the sorted data is in B
+	 */
+	static int Sort(int[] A, int[]B, int p, int r) {
+
+		int n = r-p+1;
+
+		// Few elements: AlternateMergeSort is a single insertion sort here
+		if((r-p) <= kxh132430Sort.CUTOFF) {
+			return kxh132430Sort.AlternateMergeSort(A, B, p, r);
+		}
+
+		// Radix sort takes one pass per significant byte, merge sort one pass per level
+		int levels = 31 - Integer.numberOfLeadingZeros(n / (kxh132430Sort.CUTOFF+1));
+		if(n < RADIX_THRESHOLD || PASS_COST * SampleBytes(A, p, r) > levels) {
+			return kxh132430Sort.AlternateMergeSort(A, B, p, r);
+		}
+
+		return RadixSort(A, B, p, r, n >= PARALLEL_HISTOGRAM_THRESHOLD);
+	}
+
+	/**
+	 * SampleBytes 		Estimate from a sample how many low bytes of the keys in A[p...r] vary
+	 */
+	static int SampleBytes(int[] A, int p, int r) {
+
+		int n = r-p+1;
+		int step = Math.max(1, n / SAMPLE);
+		int first = A[p], diff = 0;
+
+		// Bits set in diff differ between the first element and some sampled element
+		for(int i = p; i <= r; i += step) {
+			diff |= A[i] ^ first;
+		}
+		return (32 - Integer.numberOfLeadingZeros(diff) + 7) >> 3;
+	}
+
+	/**
+	 * RadixSort 		Sort A[p...r] by its 4 bytes, least significant first, moving the data between A and B.
+	 * 					Passes over a byte that is the same in every key are skipped.
+	 * @param parallel	whether to count the bytes on the fork-join pool
+	 * @return			the number of passes made: if odd, the sorted data is in B
+	 */
+	static int RadixSort(int[] A, int[]B, int p, int r, boolean parallel) {
+
+		if(p >= r) return 0;
+
+		int n = r-p+1;
+		int[][] count = parallel ? ParallelHistogram(A, p, r) : Histogram(A, p, r);
+
+		int[] src = A, dest = B;
+		int h = 0;
+
+		for(int d = 0; d < 4; d++) {
+
+			int shift = d << 3;
+			int[] c = count[d];
+
+			// All keys have the same byte d, so this pass would not move anything
+			if(c[(Key(src[p]) >>> shift) & 0xFF] == n) continue;
+
+			// Turn the counts into the first position of every byte value
+			for(int b = 0, sum = p; b < 256; b++) {
+				int t = c[b];
+				c[b] = sum;
+				sum += t;
+			}
+
+			// Distribute src into dest, keeping the order of equal bytes
+			for(int i = p; i <= r; i++) {
+				int v = src[i];
+				dest[c[(Key(v) >>> shift) & 0xFF]++] = v;
+			}
+
+			int[] temp = src; src = dest; dest = temp;
+			h++;
+		}
+		return h;
+	}
+
+	/**
+	 * Key 				Flip the sign bit so that signed ints compare like their unsigned bytes
+	 */
+	static int Key(int v) {
+		return v ^ 0x80000000;
+	}
+
+	/**
+	 * Histogram 		Count the values of all 4 bytes of the keys in A[p...r] in one pass
+	 */
+	static int[][] Histogram(int[] A, int p, int r) {
+
+		int[][] count = new int[4][256];
+		int[] c0 = count[0], c1 = count[1], c2 = count[2], c3 = count[3];
+
+		for(int i = p; i <= r; i++) {
+			int v = Key(A[i]);
+			c0[v & 0xFF]++;
+			c1[(v >>> 8) & 0xFF]++;
+			c2[(v >>> 16) & 0xFF]++;
+			c3[v >>> 24]++;
+		}
+		return count;
+	}
+
+	/**
+	 * ParallelHistogram 	Histogram of A[p...r], counting slices of A in separate tasks
+	 */
+	static int[][] ParallelHistogram(int[] A, int p, int r) {
+
+		HistogramTask task = new HistogramTask(A, p, r);
+		return ForkJoinTask.inForkJoinPool() ? task.invoke() : kxh132430Sort.POOL.invoke(task);
+	}
+
+	/**
+	 * HistogramTask 	Count the bytes of A[p...r], splitting slices larger than HISTOGRAM_SLICE
+	 */
+	static class HistogramTask extends RecursiveTask<int[][]> {
+
+		private static final long serialVersionUID = 1L;
+
+		final int[] A;
+		final int p, r;
+
+		HistogramTask(int[] A, int p, int r) {
+			this.A = A; this.p = p; this.r = r;
+		}
+
+		@Override
+		protected int[][] compute() {
+
+			if((r-p) < HISTOGRAM_SLICE) {
+				return Histogram(A, p, r);
+			}
+
+			int q = p + ((r-p)>>1);
+			HistogramTask left = new HistogramTask(A, p, q);
+			left.fork();
+			int[][] count = new HistogramTask(A, q+1, r).compute();
+			int[][] other = left.join();
+
+			for(int d = 0; d < 4; d++) {
+				for(int b = 0; b < 256; b++) {
+					count[d][b] += other[d][b];
+				}
+			}
+			return count;
+		}
+	}
+}
@@ -0,0 +1,241 @@
+/**
+ * @(#)SegmentSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * The SegmentSort class implements the 3 versions of merge sort of kxh132430Sort on ints
+ * stored off-heap in a MemorySegment, so that off-heap columns are sorted where they are,
+ * without copying them into an int[] and back.
+ *
+ * The global auxiliary array B of algorithms 2 and 3 is a MemorySegment as well, allocated
+ * once by Allocate from an Arena that the caller keeps and reuses; these two sorts allocate
+ * nothing. Algorithm 1 allocates L and R in every merge, as it does on the heap, from an
+ * Arena that is closed as soon as the merge is done.
+ *
+ * Indices are longs, so a segment may hold more than 2^31 ints.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class SegmentSort {
+
+	static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+
+	/**
+	 * Allocate 		Allocate an off-heap int array of size n in arena
+	 */
+	static MemorySegment Allocate(Arena arena, long n) {
+		return arena.allocate(n * INT.byteSize(), INT.byteAlignment());
+	}
+
+	/**
+	 * Copy 			Copy src[i...i+n-1] to dest[j...j+n-1]
+	 */
+	static void Copy(MemorySegment src, long i, MemorySegment dest, long j, long n) {
+		MemorySegment.copy(src, INT, i * INT.byteSize(), dest, INT, j * INT.byteSize(), n);
+	}
+
+	/**
+	 * InsertionSort 	Sort A[p...r] by insertion
+	 */
+	static void InsertionSort(MemorySegment A, long p, long r) {
+
+		for(long i=p, j=i; i<r; j=++i) {
+			int ai = A.getAtIndex(INT, i+1);
+			while(ai < A.getAtIndex(INT, j)) {
+				A.setAtIndex(INT, j+1, A.getAtIndex(INT, j));
+				if (j-- == p) {
+					break;
+				}
+			}
+			A.setAtIndex(INT, j+1, ai);
+		}
+	}
+
+	/**
+	 * MergeSort	Merge Sort Algorithm 1
+	 */
+	static void MergeSort(MemorySegment A, long p, long r) {
+
+		if (p < r) {
+			if((r-p)>kxh132430Sort.CUTOFF){
+				long q = p + ((r-p)>>1);	// Get the medium element by shifting
+				MergeSort(A, p, q);
+				MergeSort(A, q+1, r);
+				Merge(A, p, q, r);
+			} else {  // Insertion sort
+				InsertionSort(A, p, r);
+			}
+		}
+	}
+
+	/**
+	 * Merge			Merge A[p...q] and A[q+1...r]
+	 */
+	static void Merge(MemorySegment A, long p, long q, long r) {
+
+		long ls = q-p+1;
+		long rs = r-q;
+
+		//Allocate off-heap memory for L and R within merge, freed when the merge is done
+		try (Arena arena = Arena.ofConfined()) {
+
+			MemorySegment L = Allocate(arena, ls);
+			MemorySegment R = Allocate(arena, rs);
+
+			//Copy A[p...q] into L[0...ls-1]; A[q+1,r] into R[0...rs-1]
+			Copy(A, p, L, 0, ls);
+			Copy(A, q+1, R, 0, rs);
+
+			//Merge the data in L and R back to A
+			long i = 0; long j = 0;
+
+			for(long k=p; k<=r; k++) {
+				if ((j>=rs) || ((i<ls) && (L.getAtIndex(INT, i) <= R.getAtIndex(INT, j))))
+					A.setAtIndex(INT, k, L.getAtIndex(INT, i++));
+				else
+					A.setAtIndex(INT, k, R.getAtIndex(INT, j++));
+			}
+		}
+	}
+
+	/**
+	 * AuxillaryMergeSort	Merge Sort Algorithm 2
+	 */
+	static void AuxillaryMergeSort(MemorySegment A, MemorySegment B, long p, long r) {
+
+		if (p < r) {
+			if((r-p)>kxh132430Sort.CUTOFF){
+				long q = p + ((r-p)>>1);	// Get the medium element by shifting
+				AuxillaryMergeSort(A, B, p, q);
+				AuxillaryMergeSort(A, B, q+1, r);
+				AuxillaryMerge(A, B, p, q, r);
+			} else {  // Insertion sort
+				InsertionSort(A, p, r);
+			}
+		}
+	}
+
+	/**
+	 * AuxillaryMerge	Merge A[p...q] and A[q+1...r] using a global auxiliary array.
+	 */
+	static void AuxillaryMerge(MemorySegment A, MemorySegment B, long p, long q, long r) {
+
+		//Data is first copied from A to global auxiliary array B
+		Copy(A, p, B, p, r-p+1);
+
+		//Merge the data in B back to A
+		AlternateMerge(B, A, p, q, r);
+	}
+
+	/**
+	 * AlternateMergeSort 	Merge Sort Algorithm 3
+	 * @return 				the depth of the recursion tree: if odd, the sorted data is in B
+	 */
+	static int AlternateMergeSort(MemorySegment A, MemorySegment B, long p, long r) {
+
+		if(p<r){
+
+			if((r-p)>kxh132430Sort.CUTOFF){
+
+				long q = p + ((r-p)>>1); // Get the medium element by shifting
+
+				int h1 = AlternateMergeSort(A, B, p, q);
+				int h2 = AlternateMergeSort(A, B, q+1, r);
+
+				//If h1 is odd, copy data from B to A, otherwise from A to B
+				if((h1&1)==1){
+					if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+						Copy(A, q+1, B, q+1, r-q);
+					}
+					AlternateMerge(B, A, p, q, r);
+				} else {
+					if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+						Copy(B, q+1, A, q+1, r-q);
+					}
+					AlternateMerge(A, B, p, q, r);
+				}
+				return ++h1;	// return the depth of the merged array
+
+			} else {  // Insertion sort
+				InsertionSort(A, p, r);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * AlternateMerge 	Merge src[p...q] and src[q+1...r] into dest[p...r]
+	 */
+	static void AlternateMerge(MemorySegment src, MemorySegment dest, long p, long q, long r) {
+
+		long i = p; long j = q+1;
+
+		for(long k=p; k<=r; k++) {
+			if ((j>r) || ((i<=q) && (src.getAtIndex(INT, i) <= src.getAtIndex(INT, j))))
+				dest.setAtIndex(INT, k, src.getAtIndex(INT, i++));
+			else
+				dest.setAtIndex(INT, k, src.getAtIndex(INT, j++));
+		}
+	}
+
+	/**
+	 * Sorted 			Test whether A[0...n-1] is sorted
+	 */
+	static boolean Sorted(MemorySegment A, long n) {
+
+		for (long j = 0; j < n-1; j++) {
+			if(A.getAtIndex(INT, j) > A.getAtIndex(INT, j+1)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static void main(String[] args) {
+
+		// Take integer n from command line as input
+		long n = Long.parseLong(args[0]);
+
+		// The arena holds A and the global auxiliary array B for all three algorithms
+		try (Arena arena = Arena.ofConfined()) {
+
+			MemorySegment A = Allocate(arena, n);
+			MemorySegment B = Allocate(arena, n);
+
+			for(int algorithm = 1; algorithm <= 3; algorithm++) {
+
+				// Populate A with numbers in reverse sorted order.
+				for (long i = 0; i < n; i++) {
+					A.setAtIndex(INT, i, (int) (n-i));
+				}
+
+				MemorySegment S = A;
+				long startTime = System.currentTimeMillis();
+				switch(algorithm) {
+					case 1: MergeSort(A, 0, n-1); break;
+					case 2: AuxillaryMergeSort(A, B, 0, n-1); break;
+					default:
+						// If depth is odd, the sorted data is in B
+						if((AlternateMergeSort(A, B, 0, n-1)&1)==1) S = B;
+						break;
+				}
+				long endTime = System.currentTimeMillis();
+
+				// Test whether the algorithm succeeded in sorting the array.
+				if(!Sorted(S, n)) {
+					System.out.println("Sorting failed :-(");
+					return;
+				}
+				System.out.println("Success!");
+				System.out.println("Algorithm " + algorithm + " took " + (endTime - startTime) + " milliseconds");
+			}
+		}
+	}
+}
@@ -0,0 +1,225 @@
+/**
+ * @(#)SortBenchmark.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The SortBenchmark class times the merge sorts of kxh132430Sort and BlockMergeSort, RadixSort and Arrays.sort
+ * over a grid of sizes, input distributions and insertion sort cutoffs, and writes the
+ * results as a JSON array so that runs can be compared with each other.
+ *
+ * Every measurement is preceded by warm-up iterations, so the JIT has compiled the
+ * sort before it is timed. Small arrays are sorted several times per iteration to stay
+ * well above the resolution of System.nanoTime. Sorting 100M ints needs about 1.2 GB of heap.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class SortBenchmark {
+
+	static final String[] ALGORITHMS = {"MergeSort", "AuxillaryMergeSort", "AlternateMergeSort",
+			"BottomUpMergeSort", "BottomUpMergeSort.4way", "RadixSort.Sort", "Arrays.sort"};
+
+	static final String[] DISTRIBUTIONS = {"random", "sorted", "reverse", "few-unique", "organ-pipe", "nearly-sorted"};
+
+	static final int[] SIZES = {1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+	static final int[] CUTOFFS = {3, 7, 11, 15, 23, 31, 47};	// Insertion sort cutoffs to sweep, in place of kxh132430Sort.CUTOFF
+
+	static final int WARMUP = 5;			// Warm-up iterations per measurement
+	static final int ITERATIONS = 10;		// Measured iterations per measurement
+	static final int MIN_ELEMENTS = 1<<20;	// Elements sorted per iteration, at least
+
+	/**.
+	 * @param args[0]		optional, comma separated sizes (default 1K...100M)
+	 * @param args[1]		optional, the JSON file to write (default stdout)
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int[] sizes = SIZES;
+		if(args.length > 0) {
+			String[] s = args[0].split(",");
+			sizes = new int[s.length];
+			for(int i = 0; i < s.length; i++) {
+				sizes[i] = Integer.parseInt(s[i].trim());
+			}
+		}
+
+		PrintWriter out = args.length > 1
+				? new PrintWriter(new OutputStreamWriter(new FileOutputStream(args[1]), "UTF-8"))
+				: new PrintWriter(System.out);
+
+		out.println("[");
+		boolean first = true;
+
+		for(int n : sizes) {
+			for(String distribution : DISTRIBUTIONS) {
+
+				int[] source = Generate(distribution, n, new Random(n));
+				int[] A = new int[n];
+				int[] B = new int[n];
+
+				for(String algorithm : ALGORITHMS) {
+
+					// Only the merge sorts have a cutoff to sweep
+					int[] cutoffs = algorithm.contains("MergeSort") ? CUTOFFS : new int[] {-1};
+
+					for(int cutoff : cutoffs) {
+
+						long[] ns = Measure(algorithm, cutoff, source, A, B);
+
+						if(!first) out.println(",");
+						first = false;
+						WriteResult(out, algorithm, distribution, n, cutoff, ns, Math.max(1, MIN_ELEMENTS / n));
+						out.flush();
+					}
+				}
+			}
+		}
+
+		out.println();
+		out.println("]");
+		out.flush();
+		if(args.length > 1) out.close();
+	}
+
+	/**
+	 * Generate 		Create an input of size n with the given distribution
+	 */
+	static int[] Generate(String distribution, int n, Random random) {
+
+		int[] A = new int[n];
+
+		for(int i = 0; i < n; i++) {
+			switch(distribution) {
+				case "random":			A[i] = random.nextInt(); break;
+				case "sorted":			A[i] = i; break;
+				case "reverse":			A[i] = n-i; break;
+				case "few-unique":		A[i] = random.nextInt(16); break;
+				case "organ-pipe":		A[i] = i < n/2 ? i : n-i; break;
+				case "nearly-sorted":	A[i] = i; break;
+				default: throw new IllegalArgumentException("Unknown distribution " + distribution);
+			}
+		}
+
+		// Nearly sorted: swap 1% of the elements with a random partner
+		if(distribution.equals("nearly-sorted")) {
+			for(int s = 0; s < n/100; s++) {
+				int i = random.nextInt(n), j = random.nextInt(n);
+				int temp = A[i]; A[i] = A[j]; A[j] = temp;
+			}
+		}
+		return A;
+	}
+
+	/**
+	 * Measure 			Time the algorithm on copies of source
+	 * @param cutoff	the insertion sort cutoff of the merge sorts, or -1 for the others
+	 * @return			the nanoseconds per sort of every measured iteration
+	 */
+	static long[] Measure(String algorithm, int cutoff, int[] source, int[] A, int[] B) {
+
+		int n = source.length;
+		int ops = Math.max(1, MIN_ELEMENTS / n);	// Sorts per iteration
+		long[] ns = new long[ITERATIONS];
+
+		for(int it = -WARMUP; it < ITERATIONS; it++) {
+
+			long time = 0;
+			for(int op = 0; op < ops; op++) {
+
+				System.arraycopy(source, 0, A, 0, n);
+
+				long startTime = System.nanoTime();
+				int[] sorted = Sort(algorithm, cutoff, A, B);
+				time += System.nanoTime() - startTime;
+
+				// Checking the result also keeps the JIT from discarding the sort
+				for(int j = 0; j < n-1; j++) {
+					if(sorted[j] > sorted[j+1]) {
+						throw new IllegalStateException(algorithm + " failed to sort " + n + " elements");
+					}
+				}
+			}
+			if(it >= 0) ns[it] = time / ops;
+		}
+		return ns;
+	}
+
+	/**
+	 * Sort 			Sort A with the algorithm and return the array that holds the result
+	 * @param cutoff	the insertion sort cutoff of the merge sorts, or -1 for the others
+	 */
+	static int[] Sort(String algorithm, int cutoff, int[] A, int[] B) {
+
+		int n = A.length;
+		int h;	// The depth or number of passes: if odd, the sorted data is in B
+
+		switch(algorithm) {
+			case "MergeSort":
+				kxh132430Sort.MergeSort(A, 0, n-1, cutoff);
+				return A;
+			case "AuxillaryMergeSort":
+				kxh132430Sort.AuxillaryMergeSort(A, B, 0, n-1, cutoff);
+				return A;
+			case "AlternateMergeSort":
+				h = kxh132430Sort.AlternateMergeSort(A, B, 0, n-1, cutoff);
+				return ((h&1)==1) ? B : A;
+			case "BottomUpMergeSort":
+				h = BlockMergeSort.BottomUpMergeSort(A, B, 0, n-1, false, cutoff);
+				return ((h&1)==1) ? B : A;
+			case "BottomUpMergeSort.4way":
+				h = BlockMergeSort.BottomUpMergeSort(A, B, 0, n-1, true, cutoff);
+				return ((h&1)==1) ? B : A;
+			case "RadixSort.Sort":
+				h = RadixSort.Sort(A, B, 0, n-1);
+				return ((h&1)==1) ? B : A;
+			case "Arrays.sort":
+				Arrays.sort(A);
+				return A;
+			default:
+				throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+		}
+	}
+
+	/**
+	 * WriteResult 		Write one measurement as a JSON object
+	 */
+	static void WriteResult(PrintWriter out, String algorithm, String distribution, int n, int cutoff, long[] ns, int ops) {
+
+		long[] sorted = ns.clone();
+		Arrays.sort(sorted);
+
+		double mean = 0;
+		for(long t : ns) mean += t;
+		mean /= ns.length;
+
+		double variance = 0;
+		for(long t : ns) variance += (t - mean) * (t - mean);
+		double stddev = ns.length > 1 ? Math.sqrt(variance / (ns.length - 1)) : 0;
+
+		out.print("  {\"algorithm\": \"" + algorithm + "\"");
+		out.print(", \"distribution\": \"" + distribution + "\"");
+		out.print(", \"size\": " + n);
+		out.print(", \"cutoff\": " + (cutoff >= 0 ? String.valueOf(cutoff) : "null"));
+		out.print(", \"warmupIterations\": " + WARMUP);
+		out.print(", \"iterations\": " + ns.length);
+		out.print(", \"opsPerIteration\": " + ops);
+		out.print(", \"unit\": \"ns/op\"");
+		out.print(", \"mean\": " + Math.round(mean));
+		out.print(", \"stddev\": " + Math.round(stddev));
+		out.print(", \"min\": " + sorted[0]);
+		out.print(", \"median\": " + sorted[sorted.length/2]);
+		out.print(", \"max\": " + sorted[sorted.length-1]);
+		out.print(", \"elementsPerSecond\": " + Math.round(n * 1e9 / mean));
+		out.print("}");
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * @(#)SortEvent.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The SortEvent class is the JFR event committed by InstrumentedSort after every sort,
+ * carrying the counters of its SortMetrics.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+@Name("com.merge_sort.Sort")
+@Label("Merge Sort")
+@Category("Merge Sort")
+@Description("Counters of one instrumented sort")
+class SortEvent extends Event {
+
+	@Label("Algorithm")
+	String algorithm;
+
+	@Label("Size")
+	int size;
+
+	@Label("Comparisons")
+	long comparisons;
+
+	@Label("Moves")
+	long moves;
+
+	@Label("Bytes Copied")
+	@DataAmount
+	long bytesCopied;
+
+	@Label("Insertion Sort Leaves")
+	long leaves;
+
+	@Label("Max Recursion Depth")
+	int maxDepth;
+
+	@Label("Tree Depth h")
+	@Description("The depth returned by AlternateMergeSort, -1 for the other algorithms")
+	int h;
+
+	/**
+	 * Set 				Copy the counters of m
+	 */
+	void Set(SortMetrics m) {
+		algorithm = m.algorithm;
+		size = m.size;
+		comparisons = m.comparisons;
+		moves = m.moves;
+		bytesCopied = m.bytesCopied;
+		leaves = m.leaves;
+		maxDepth = m.maxDepth;
+		h = m.h;
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * @(#)SortMetrics.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+/**
+ * The SortMetrics class holds the counters recorded by the merge sorts of kxh132430Sort into
+ * kxh132430Sort.METRICS during one sort, which InstrumentedSort reads back. The counters are
+ * not synchronized, so only single-threaded sorts are counted correctly.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class SortMetrics {
+
+	String algorithm;		// The name of the algorithm
+	int size;				// The number of elements sorted
+
+	long comparisons;		// Comparisons between two elements
+	long moves;				// Elements written to A, B, L or R
+	long bytesCopied;		// Bytes moved from one array to another (A, B, L, R)
+	long leaves;			// Sub-arrays sorted by insertion sort
+	int maxDepth;			// The deepest level of recursion reached, the whole array being level 0
+	int depth;				// The level of the next call
+	int h = -1;				// The depth returned by AlternateMergeSort: if odd, the data is in B (-1 for other algorithms)
+
+	SortMetrics(String algorithm, int size) {
+		this.algorithm = algorithm;
+		this.size = size;
+	}
+
+	/**
+	 * SortMetrics 		A copy of the counters of m
+	 */
+	SortMetrics(SortMetrics m) {
+		this(m.algorithm, m.size);
+		comparisons = m.comparisons;
+		moves = m.moves;
+		bytesCopied = m.bytesCopied;
+		leaves = m.leaves;
+		maxDepth = m.maxDepth;
+		h = m.h;
+	}
+
+	/**
+	 * Reset 			Clear the counters before a sort of size elements with the algorithm
+	 */
+	void Reset(String algorithm, int size) {
+		this.algorithm = algorithm;
+		this.size = size;
+		comparisons = moves = bytesCopied = leaves = 0;
+		maxDepth = depth = 0;
+		h = -1;
+	}
+
+	/**
+	 * Enter 			Record a call one level below the current one
+	 */
+	void Enter() {
+		if(depth > maxDepth) maxDepth = depth;
+		depth++;
+	}
+
+	/**
+	 * Exit 			Record the return of the current call
+	 */
+	void Exit() {
+		depth--;
+	}
+
+	/**
+	 * Insert 			Record an element of an insertion sort moved down by shifts places,
+	 * 					with one comparison more if it stopped before the start of the leaf
+	 */
+	void Insert(int shifts, boolean stopped) {
+		comparisons += stopped ? shifts + 1 : shifts;
+		moves += shifts + 1;
+	}
+
+	/**
+	 * Copy 			Record n elements moved from one array to another
+	 */
+	void Copy(long n) {
+		moves += n;
+		bytesCopied += n * Integer.BYTES;
+	}
+
+	@Override
+	public String toString() {
+		return algorithm + " n=" + size
+				+ " comparisons=" + comparisons
+				+ " moves=" + moves
+				+ " bytesCopied=" + bytesCopied
+				+ " leaves=" + leaves
+				+ " maxDepth=" + maxDepth
+				+ (h >= 0 ? " h=" + h : "");
+	}
+}
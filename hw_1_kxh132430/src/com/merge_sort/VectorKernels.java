@@ -0,0 +1,184 @@
+/**
+ * @(#)VectorKernels.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorKernels class holds the sorting networks and the merge kernel of VectorSort,
+ * written with the incubating Vector API on vectors of 8 ints.
+ *
+ * Only VectorSort may refer to this class: it is loaded when VectorSort checks whether the
+ * jdk.incubator.vector module is present, and never touched otherwise.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+final class VectorKernels {
+
+	static final VectorSpecies<Integer> S = IntVector.SPECIES_256;	// 8 lanes
+	static final int LANES = 8;
+
+	static final IntVector MAX = IntVector.broadcast(S, Integer.MAX_VALUE);	// Padding of partial vectors
+
+	// Exchange partners of the compare-exchange steps, and the reversal of a vector
+	static final VectorShuffle<Integer> PARTNER_1 = Shuffle(1);
+	static final VectorShuffle<Integer> PARTNER_2 = Shuffle(2);
+	static final VectorShuffle<Integer> PARTNER_4 = Shuffle(4);
+	static final VectorShuffle<Integer> REVERSE = Shuffle(LANES-1);
+
+	// Lanes that take the larger element of a compare-exchange in the stage (k, j) of the bitonic sort
+	static final VectorMask<Integer> MAX_2_1 = Mask(2, 1);
+	static final VectorMask<Integer> MAX_4_2 = Mask(4, 2);
+	static final VectorMask<Integer> MAX_4_1 = Mask(4, 1);
+	static final VectorMask<Integer> MAX_8_4 = Mask(8, 4);
+	static final VectorMask<Integer> MAX_8_2 = Mask(8, 2);
+	static final VectorMask<Integer> MAX_8_1 = Mask(8, 1);
+
+	private VectorKernels() {}
+
+	/**
+	 * Shuffle 			Lane i takes lane i^j
+	 */
+	static VectorShuffle<Integer> Shuffle(int j) {
+
+		int[] index = new int[LANES];
+		for(int i = 0; i < LANES; i++) {
+			index[i] = i ^ j;
+		}
+		return VectorShuffle.fromArray(S, index, 0);
+	}
+
+	/**
+	 * Mask 			Lane i keeps the maximum if it is the upper lane of its pair in an ascending
+	 * 					block of size k, or the lower lane in a descending one
+	 */
+	static VectorMask<Integer> Mask(int k, int j) {
+
+		boolean[] bits = new boolean[LANES];
+		for(int i = 0; i < LANES; i++) {
+			bits[i] = ((i & j) != 0) ^ ((i & k) != 0);
+		}
+		return VectorMask.fromArray(S, bits, 0);
+	}
+
+	/**
+	 * Check 			Sort a small array to make sure the kernels work on this platform
+	 */
+	static boolean Check() {
+
+		int[] A = {5, 3, 9, -1, 12, 0, 7, 7, 2, -8, 4};
+		Sort16(A, 0, A.length-1);
+		for(int i = 0; i < A.length-1; i++) {
+			if(A[i] > A[i+1]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Exchange 		One compare-exchange step of a sorting network between lanes i and i^j
+	 */
+	static IntVector Exchange(IntVector v, VectorShuffle<Integer> partner, VectorMask<Integer> takeMax) {
+
+		IntVector w = v.rearrange(partner);
+		return v.min(w).blend(v.max(w), takeMax);
+	}
+
+	/**
+	 * Sort8 			Bitonic sorting network of one vector
+	 */
+	static IntVector Sort8(IntVector v) {
+
+		v = Exchange(v, PARTNER_1, MAX_2_1);
+		v = Exchange(v, PARTNER_2, MAX_4_2);
+		v = Exchange(v, PARTNER_1, MAX_4_1);
+		return Clean(v);
+	}
+
+	/**
+	 * Clean 			Sort a bitonic vector (the last stage of the bitonic sorting network)
+	 */
+	static IntVector Clean(IntVector v) {
+
+		v = Exchange(v, PARTNER_4, MAX_8_4);
+		v = Exchange(v, PARTNER_2, MAX_8_2);
+		return Exchange(v, PARTNER_1, MAX_8_1);
+	}
+
+	/**
+	 * Sort16 			Sort A[p...r] with r-p < 16 by the bitonic network of two vectors,
+	 * 					padding the missing lanes with Integer.MAX_VALUE
+	 */
+	static void Sort16(int[] A, int p, int r) {
+
+		int n = r-p+1;
+
+		VectorMask<Integer> m0 = S.indexInRange(0, n);
+		IntVector a = Sort8(MAX.blend(IntVector.fromArray(S, A, p, m0), m0));
+
+		if(n <= LANES) {
+			a.intoArray(A, p, m0);
+			return;
+		}
+
+		VectorMask<Integer> m1 = S.indexInRange(LANES, n);
+		IntVector b = Sort8(MAX.blend(IntVector.fromArray(S, A, p+LANES, m1), m1));
+
+		// Bitonic merge: the minima of a and reversed b are the 8 smallest elements
+		IntVector c = b.rearrange(REVERSE);
+		Clean(a.min(c)).intoArray(A, p);
+		Clean(a.max(c)).intoArray(A, p+LANES, m1);
+	}
+
+	/**
+	 * Merge 			Merge src[p...q] and src[q+1...r] into dest[p...r], 8 elements at a time.
+	 * 					Both runs must hold at least 8 elements. src[p...r] is used as scratch space.
+	 */
+	static void Merge(int[] src, int[] dest, int p, int q, int r) {
+
+		int i = p, j = q+1, k = p;
+
+		IntVector carry = IntVector.fromArray(S, src, i);
+		IntVector next = IntVector.fromArray(S, src, j);
+		i += LANES; j += LANES;
+
+		while(true) {
+
+			// Merge the carried 8 elements with the next 8: the lower half is final
+			IntVector c = next.rearrange(REVERSE);
+			Clean(carry.min(c)).intoArray(dest, k);
+			carry = Clean(carry.max(c));
+			k += LANES;
+
+			if(i+LANES > q+1 || j+LANES > r+1) break;
+
+			// Load from the run whose next element is smaller
+			if(src[i] <= src[j]) {
+				next = IntVector.fromArray(S, src, i);
+				i += LANES;
+			} else {
+				next = IntVector.fromArray(S, src, j);
+				j += LANES;
+			}
+		}
+
+		// Park the carry in front of the rest of the left run, where it has already been read,
+		// and merge the three sorted pieces that are left
+		int x = i-LANES, xe = i;
+		carry.intoArray(src, x);
+
+		while(k <= r) {
+			if(x < xe && (i > q || src[x] <= src[i]) && (j > r || src[x] <= src[j]))
+				dest[k++] = src[x++];
+			else if(i <= q && (j > r || src[i] <= src[j]))
+				dest[k++] = src[i++];
+			else
+				dest[k++] = src[j++];
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * @(#)VectorSort.java        1.0 	10/18/2026
+ */
+
+package com.merge_sort;
+
+/**
+ * The VectorSort class implements Merge Sort Algorithm 3 (AlternateMergeSort) with a
+ * branch-free base case: sub-arrays of up to 16 elements are sorted by a bitonic sorting
+ * network on two vectors of 8 ints, and runs of at least 8 elements are merged 8 at a time
+ * by a bitonic merge network.
+ *
+ * The networks use the incubating Vector API, so the JVM has to be started with
+ * --add-modules jdk.incubator.vector. Without the module, VectorSort falls back to the
+ * insertion sort and the scalar merge of AlternateMergeSort.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class VectorSort {
+
+	static final int LEAF = 16;		// The size of the largest sub-array sorted by a sorting network
+	static final int LANES = 8;		// Ints in a vector
+
+	static final boolean AVAILABLE = Available();	// Whether the Vector API kernels can be used
+
+	/**
+	 * Available 		Load the Vector API kernels, unless the module is missing
+	 */
+	static boolean Available() {
+		try {
+			return VectorKernels.Check();
+		} catch (LinkageError e) {	// jdk.incubator.vector was not added to the JVM
+			return false;
+		}
+	}
+
+	/**
+	 * VectorMergeSort 	Merge Sort Algorithm 3 with sorting network leaves and vector merges
+	 * @return 			the depth of the recursion tree: if odd, the sorted data is in B
+	 */
+	static int VectorMergeSort(int[] A, int[]B, int p, int r) {
+
+		if(p<r){
+
+			if(AVAILABLE ? (r-p) >= LEAF : (r-p) > kxh132430Sort.CUTOFF){
+
+				int q = p + ((r-p)>>1); // Get the medium element by shifting
+
+				int h1 = VectorMergeSort(A, B, p, q);
+				int h2 = VectorMergeSort(A, B, q+1, r);
+
+				//If h1 is odd, copy data from B to A, otherwise from A to B
+				if((h1&1)==1){
+					if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+						System.arraycopy(A, q+1, B, q+1, r-q);
+					}
+					Merge(B, A, p, q, r);
+				} else {
+					if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+						System.arraycopy(B, q+1, A, q+1, r-q);
+					}
+					Merge(A, B, p, q, r);
+				}
+				return ++h1;	// return the depth of the merged array
+
+			} else if(AVAILABLE) {
+				VectorKernels.Sort16(A, p, r);
+
+			} else {  // Insertion sort
+				for(int i=p, j=i; i<r; j=++i) {
+					int ai = A[i+1];
+					while(ai < A[j]) {
+						A[j+1] = A[j];
+						if (j-- == p) {
+							break;
+						}
+					}
+					A[j+1] = ai;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Merge 			Merge src[p...q] and src[q+1...r] into dest[p...r] with the vector kernel
+	 * 					when both runs fill a vector. src[p...r] is not needed afterwards.
+	 */
+	static void Merge(int[] src, int[]dest, int p, int q, int r) {
+
+		if(AVAILABLE && (q-p+1) >= LANES && (r-q) >= LANES) {
+			VectorKernels.Merge(src, dest, p, q, r);
+		} else {
+			kxh132430Sort.AlternateMerge(src, dest, p, q, r);
+		}
+	}
+}
@@ -10,6 +10,10 @@
 package com.merge_sort;
 
 import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * The kxh132430Sort class implements 3 versions of merge sort discussed in class
@@ -19,32 +23,59 @@ import java.io.IOException;
  */
 public class kxh132430Sort {
 	
+	static final int CUTOFF = 11;	// Sub-arrays A[p...r] with r-p <= CUTOFF are sorted by insertion sort
+	
+	// The counters of InstrumentedSort, or null unless -Dmerge_sort.metrics=true. Being final, the JIT
+	// folds every METRICS != null away, so the default path runs without counters or allocation.
+	static final SortMetrics METRICS = Boolean.getBoolean("merge_sort.metrics") ? new SortMetrics(null, 0) : null;
+	
 	/**
 	 * MergeSort	Merge Sort Algorithm 1
 	 */
 	static void MergeSort(int[] A, int p, int r) {
+		MergeSort(A, p, r, CUTOFF);
+	}
+	
+	/**
+	 * MergeSort	Merge Sort Algorithm 1, sorting sub-arrays A[p...r] with r-p <= cutoff by insertion sort
+	 */
+	static void MergeSort(int[] A, int p, int r, int cutoff) {
 		
+		if(METRICS != null) METRICS.Enter();
 		if (p < r) {
-			if((r-p)>11){
+			if((r-p)>cutoff){
 				int q = p + ((r-p)>>1);	// Get the medium element by shifting
-				MergeSort(A, p, q);
-				MergeSort(A, q+1, r);
+				MergeSort(A, p, q, cutoff);
+				MergeSort(A, q+1, r, cutoff);
 				Merge(A, p, q, r);
 			} else {  // Insertion sort
-				for(int i=p, j=i; i<r; j=++i) {
-				    int ai = A[i+1];
-				    while(ai < A[j]) {
-				    	A[j+1] = A[j];
-				    	if (j-- == p) {
-				    		break;
-				    	}
-				    }
-				    A[j+1] = ai;
-				}
+				InsertionSort(A, p, r);
 			 }
         }
+		if(METRICS != null) METRICS.Exit();
     }
 
+	/**
+	 * InsertionSort	Sort A[p...r] by insertion, the leaves of all 3 versions of merge sort
+	 */
+	static void InsertionSort(int[] A, int p, int r) {
+		
+		if(METRICS != null) METRICS.leaves++;
+		for(int i=p, j=i; i<r; j=++i) {
+		    int ai = A[i+1];
+		    while(ai < A[j]) {
+		    	A[j+1] = A[j];
+		    	if (j-- == p) {
+		    		break;
+		    	}
+		    }
+		    A[j+1] = ai;
+		    
+		    // A[i+1] moved i-j places down, after one comparison per place and one more unless it reached p
+		    if(METRICS != null) METRICS.Insert(i-j, j >= p);
+		}
+	}
+
 	/**
 	 * Merge			Merge A[p...q] and A[q+1...r]
 	 */
@@ -64,16 +95,19 @@ public class kxh132430Sort {
         for(int i=q+1; i<=r; i++){ 
         	R[i-(q+1)] = A[i];
         }
+        if(METRICS != null) METRICS.Copy(ls + rs);
         
         //Merge the data in L and R back to A
         int i = 0; int j = 0;
         
         for(int k=p; k<=r; k++) {
+        	if(METRICS != null && j<rs && i<ls) METRICS.comparisons++;
         	if ((j>=rs) || ((i<ls) && (L[i] <= R[j])))
         		A[k] = L[i++];
         	else
         		A[k] = R[j++];
         }
+        if(METRICS != null) METRICS.Copy(ls + rs);
         return;	
     }
     
@@ -82,29 +116,29 @@ public class kxh132430Sort {
     * AuxillaryMergeSort	Merge Sort Algorithm 2
     */
    static void AuxillaryMergeSort(int[] A, int[]B, int p, int r) {
+	   AuxillaryMergeSort(A, B, p, r, CUTOFF);
+   }
+   
+   /**
+    * AuxillaryMergeSort	Merge Sort Algorithm 2, sorting sub-arrays A[p...r] with r-p <= cutoff by insertion sort
+    */
+   static void AuxillaryMergeSort(int[] A, int[]B, int p, int r, int cutoff) {
        
+	   if(METRICS != null) METRICS.Enter();
 	   if (p < r) {
 		   
-		   if((r-p)>11){ 
+		   if((r-p)>cutoff){ 
 			   
 			   int q = p + ((r-p)>>1);// Get the medium element by shifting
-			   AuxillaryMergeSort(A, B, p, q);
-			   AuxillaryMergeSort(A, B, q+1, r);
+			   AuxillaryMergeSort(A, B, p, q, cutoff);
+			   AuxillaryMergeSort(A, B, q+1, r, cutoff);
 			   AuxillaryMerge(A, B, p, q, r);
 			   
 		   } else {  // Insertion sort
-				for(int i=p, j=i; i<r; j=++i) {
-				    int ai = A[i+1];
-				    while(ai < A[j]) {
-				    	A[j+1] = A[j];
-				    	if (j-- == p) {
-				    		break;
-				    	}
-				    }
-				    A[j+1] = ai;
-				}
+				InsertionSort(A, p, r);
 		   	}
         }
+	   if(METRICS != null) METRICS.Exit();
     }
 
    /**
@@ -116,16 +150,19 @@ public class kxh132430Sort {
         for(int i=p; i<=r; i++){ 
         	B[i] = A[i];
         }
+        if(METRICS != null) METRICS.Copy(r-p+1);
         
         //Merge the data in B back to A
         int i = p; int j = q+1;
         
         for(int k=p; k<=r; k++) {
+        	if(METRICS != null && j<=r && i<=q) METRICS.comparisons++;
         	if ((j>r) || ((i<=q) && (B[i] <= B[j])))
         		A[k] = B[i++];
         	else
         		A[k] = B[j++];
         }
+        if(METRICS != null) METRICS.Copy(r-p+1);
         return;	
     }
   
@@ -133,55 +170,65 @@ public class kxh132430Sort {
      * AlternateMergeSort 	Merge Sort Algorithm 3
      */
    	static int AlternateMergeSort(int[] A, int[]B, int p, int r) {
+   		return AlternateMergeSort(A, B, p, r, CUTOFF);
+   	}
+   	
+    /**
+     * AlternateMergeSort 	Merge Sort Algorithm 3, sorting sub-arrays A[p...r] with r-p <= cutoff by insertion sort
+     */
+   	static int AlternateMergeSort(int[] A, int[]B, int p, int r, int cutoff) {
       
+   		if(METRICS != null) METRICS.Enter();
+   		int h = 0;	// If there is only one element, do nothing and return 0
    		if(p<r){
    			
-			if((r-p)>11){
+			if((r-p)>cutoff){
 				
 				int q = p + ((r-p)>>1); // Get the medium element by shifting
           
 				int h1, h2;// Let h1 and h2 be the depths of the two sub-arrays in the recursion tree
           
-				h1 = AlternateMergeSort(A, B, p, q);
-				h2 = AlternateMergeSort(A, B, q+1, r);
+				h1 = AlternateMergeSort(A, B, p, q, cutoff);
+				h2 = AlternateMergeSort(A, B, q+1, r, cutoff);
       	  
-				//If h1 is odd, copy data from B to A, otherwise from A to B
-				if((h1&1)==1){
-        	  
-					if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
-						for(int i = q+1;i<=r;i++){
-							B[i]=A[i];
-						}
-					}
-					AlternateMerge(B, A, p, q, r);
-				} else {
-        	
-					if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
-						for(int i = q+1;i<=r;i++){
-							A[i]=B[i];
-						} 
-					}
-					AlternateMerge(A, B, p, q, r);
-				}
-				
-				return ++h1;	// return the depth of the merged array
+				h = AlternateCombine(A, B, p, q, r, h1, h2);	// the depth of the merged array
 				
 			} else {  // Insertion sort
-				for(int i=p, j=i; i<r; j=++i) {
-					int ai = A[i+1];
-					while(ai < A[j]) {
-						A[j+1] = A[j];
-						if (j-- == p) {
-							break;
-						}
-					}
-					A[j+1] = ai;
-				}
-				return 0;
+				InsertionSort(A, p, r);
 			}
    		}
-   		// If there is only one element, do nothing and return 0
-   		return 0;
+   		if(METRICS != null) METRICS.Exit();
+   		return h;
+   	}
+
+   	/**
+   	 * AlternateCombine 	Merge the sorted halves of depths h1 and h2 into the array opposite to the left half
+   	 * @return 				the depth of the merged array
+   	 */
+   	static int AlternateCombine(int[] A, int[]B, int p, int q, int r, int h1, int h2) {
+   		
+		//If h1 is odd, copy data from B to A, otherwise from A to B
+		if((h1&1)==1){
+	  
+			if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+				for(int i = q+1;i<=r;i++){
+					B[i]=A[i];
+				}
+				if(METRICS != null) METRICS.Copy(r-q);
+			}
+			AlternateMerge(B, A, p, q, r);
+		} else {
+	
+			if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+				for(int i = q+1;i<=r;i++){
+					A[i]=B[i];
+				} 
+				if(METRICS != null) METRICS.Copy(r-q);
+			}
+			AlternateMerge(A, B, p, q, r);
+		}
+		
+		return ++h1;
    	}
 
    	/**
@@ -193,15 +240,398 @@ public class kxh132430Sort {
       int i = p; int j = q+1;
       
       for(int k=p; k<=r; k++) {
+    	  if(METRICS != null && j<=r && i<=q) METRICS.comparisons++;
     	  if ((j>r) || ((i<=q) && (src[i] <= src[j])))
     		  dest[k] = src[i++];
       	  else
       		  dest[k] = src[j++];
       }
+      if(METRICS != null) METRICS.Copy(r-p+1);
       
       return;
    	}
  
+   	/**
+   	 * NaturalMergeSort 	Merge Sort Algorithm 4. A[p...r] is cut into the ascending and strictly
+   	 * descending runs it already contains (descending runs are reversed, short runs are extended to
+   	 * MIN_RUN by insertion sort), and the runs are merged on a stack as in TimSort, using the global
+   	 * auxiliary array B. Sorted and reverse sorted inputs take a single linear pass.
+   	 */
+   	static void NaturalMergeSort(int[] A, int[]B, int p, int r) {
+   		
+   		if(p >= r) return;
+   		
+   		// Stack of pending runs: run i is A[runBase[i]...runBase[i]+runLen[i]-1]
+   		int[] runBase = new int[MAX_RUNS];
+   		int[] runLen = new int[MAX_RUNS];
+   		int runs = 0;
+   		
+   		for(int lo = p; lo <= r; ) {
+   			
+   			int hi = CountRun(A, lo, r);	// A[lo...hi-1] is now ascending
+   			
+   			// Extend a short run to MIN_RUN elements by insertion sort
+   			if((hi-lo) < MIN_RUN){
+   				int end = Math.min(lo+MIN_RUN, r+1);
+   				for(int i=hi-1, j=i; i<end-1; j=++i) {
+   					int ai = A[i+1];
+   					while(ai < A[j]) {
+   						A[j+1] = A[j];
+   						if (j-- == lo) {
+   							break;
+   						}
+   					}
+   					A[j+1] = ai;
+   				}
+   				hi = end;
+   			}
+   			
+   			runBase[runs] = lo;
+   			runLen[runs++] = hi-lo;
+   			lo = hi;
+   			
+   			// Merge until the lengths on the stack shrink at least as fast as the Fibonacci numbers
+   			while(runs > 1) {
+   				int n = runs-2;
+   				if((n > 0 && runLen[n-1] <= runLen[n] + runLen[n+1]) || (n > 1 && runLen[n-2] <= runLen[n] + runLen[n-1])){
+   					if(runLen[n-1] < runLen[n+1]) n--;
+   				} else if(runLen[n] > runLen[n+1]) {
+   					break;
+   				}
+   				runs = MergeRuns(A, B, runBase, runLen, runs, n);
+   			}
+   		}
+   		
+   		// Merge the remaining runs into one
+   		while(runs > 1) {
+   			int n = runs-2;
+   			if(n > 0 && runLen[n-1] < runLen[n+1]) n--;
+   			runs = MergeRuns(A, B, runBase, runLen, runs, n);
+   		}
+   	}
+   	
+   	static final int MIN_RUN = 12;		// Runs are at least as long as the insertion sort leaves of the other sorts
+   	static final int MIN_GALLOP = 7;	// Consecutive wins of one run before the merge starts galloping
+   	static final int MAX_RUNS = 64;		// Run lengths on the stack grow like Fibonacci numbers, so 64 is plenty
+   	
+   	/**
+   	 * CountRun 	Return the end (exclusive) of the run starting at A[lo], reversing it if it is strictly descending
+   	 */
+   	static int CountRun(int[] A, int lo, int r) {
+   		
+   		int hi = lo+1;
+   		if(hi > r) return hi;
+   		
+   		if(A[hi++] < A[lo]){	// Strictly descending, so reversing it keeps equal elements in order
+   			while(hi <= r && A[hi] < A[hi-1]) hi++;
+   			for(int left = lo, right = hi-1; left < right; left++, right--){
+   				int temp = A[left];
+   				A[left] = A[right];
+   				A[right] = temp;
+   			}
+   		} else {	// Ascending
+   			while(hi <= r && A[hi] >= A[hi-1]) hi++;
+   		}
+   		return hi;
+   	}
+   	
+   	/**
+   	 * MergeRuns 	Merge runs n and n+1 of the stack and return the new stack size
+   	 */
+   	static int MergeRuns(int[] A, int[]B, int[] runBase, int[] runLen, int runs, int n) {
+   		
+   		int p = runBase[n];
+   		int q = p + runLen[n] - 1;
+   		int r = q + runLen[n+1];
+   		
+   		GallopMerge(A, B, p, q, r);
+   		
+   		runLen[n] += runLen[n+1];
+   		if(n == runs-3){	// The merged runs were not on top, so shift the top run down
+   			runBase[n+1] = runBase[n+2];
+   			runLen[n+1] = runLen[n+2];
+   		}
+   		return runs-1;
+   	}
+   	
+   	/**
+   	 * GallopMerge 	Merge A[p...q] and A[q+1...r] using a global auxiliary array. Elements already in
+   	 * place at both ends are skipped, and once one run wins MIN_GALLOP times in a row whole blocks of it
+   	 * are located by galloping search and moved with System.arraycopy.
+   	 */
+   	static void GallopMerge(int[] A, int[]B, int p, int q, int r) {
+   		
+   		// Elements of the left run not greater than A[q+1] are already in place
+   		int i = GallopRight(A[q+1], A, p, q+1);
+   		if(i > q) return;
+   		
+   		// Elements of the right run not less than A[q] are already in place
+   		int e = GallopLeft(A[q], A, q+1, r+1) - 1;
+   		
+   		// Copy the left run A[i...q] to B[i...q]; the right run is merged from where it is
+   		for(int x=i; x<=q; x++){
+   			B[x] = A[x];
+   		}
+   		
+   		int a = i, b = q+1, k = i;
+   		
+   		merge:
+   		while(true) {
+   			
+   			// One element at a time, until a run wins MIN_GALLOP times in a row
+   			int winsL = 0, winsR = 0;
+   			while((winsL|winsR) < MIN_GALLOP) {
+   				if(A[b] < B[a]){
+   					A[k++] = A[b++]; winsR++; winsL = 0;
+   					if(b > e) break merge;
+   				} else {
+   					A[k++] = B[a++]; winsL++; winsR = 0;
+   					if(a > q) break merge;
+   				}
+   			}
+   			
+   			// Gallop while the blocks found stay long
+   			do {
+   				winsL = GallopRight(A[b], B, a, q+1) - a;
+   				System.arraycopy(B, a, A, k, winsL);
+   				a += winsL; k += winsL;
+   				if(a > q) break merge;
+   				
+   				A[k++] = A[b++];
+   				if(b > e) break merge;
+   				
+   				winsR = GallopLeft(B[a], A, b, e+1) - b;
+   				System.arraycopy(A, b, A, k, winsR);
+   				b += winsR; k += winsR;
+   				if(b > e) break merge;
+   				
+   				A[k++] = B[a++];
+   				if(a > q) break merge;
+   				
+   			} while(winsL >= MIN_GALLOP || winsR >= MIN_GALLOP);
+   		}
+   		
+   		// What is left of the right run is in place already; copy back the rest of the left run
+   		while(a <= q){
+   			A[k++] = B[a++];
+   		}
+   	}
+   	
+   	/**
+   	 * GallopRight 	Return the first index in X[lo...hi-1] whose element is greater than key
+   	 */
+   	static int GallopRight(int key, int[] X, int lo, int hi) {
+   		
+   		if(lo >= hi || X[lo] > key) return lo;
+   		
+   		// Exponential search: X[last] <= key, and the answer is in (last, lo+ofs]
+   		int last = lo, ofs = 1;
+   		while(ofs < hi-lo && X[lo+ofs] <= key){
+   			last = lo+ofs;
+   			ofs = (ofs<<1)+1;
+   			if(ofs < 0) ofs = hi-lo;	// int overflow
+   		}
+   		
+   		// Binary search
+   		int l = last+1, h = lo + Math.min(ofs, hi-lo);
+   		while(l < h){
+   			int m = (l+h)>>>1;
+   			if(X[m] <= key) l = m+1; else h = m;
+   		}
+   		return l;
+   	}
+   	
+   	/**
+   	 * GallopLeft 	Return the first index in X[lo...hi-1] whose element is not less than key
+   	 */
+   	static int GallopLeft(int key, int[] X, int lo, int hi) {
+   		
+   		if(lo >= hi || X[lo] >= key) return lo;
+   		
+   		// Exponential search: X[last] < key, and the answer is in (last, lo+ofs]
+   		int last = lo, ofs = 1;
+   		while(ofs < hi-lo && X[lo+ofs] < key){
+   			last = lo+ofs;
+   			ofs = (ofs<<1)+1;
+   			if(ofs < 0) ofs = hi-lo;	// int overflow
+   		}
+   		
+   		// Binary search
+   		int l = last+1, h = lo + Math.min(ofs, hi-lo);
+   		while(l < h){
+   			int m = (l+h)>>>1;
+   			if(X[m] < key) l = m+1; else h = m;
+   		}
+   		return l;
+   	}
+   	
+   	/**
+   	 * ParallelAlternateMergeSort 	Merge Sort Algorithm 3 run on a fork-join pool.
+   	 * Both halves of a sub-array at least PARALLEL_THRESHOLD long are sorted by separate tasks
+   	 * sharing the same global auxiliary array B, so the depth returned has the same parity as
+   	 * AlternateMergeSort(A, B, p, r) and no memory is allocated beyond B.
+   	 */
+   	static int ParallelAlternateMergeSort(int[] A, int[]B, int p, int r) {
+   		return ParallelAlternateMergeSort(A, B, p, r, PARALLEL_MERGE_THRESHOLD);
+   	}
+   	
+   	/**
+   	 * ParallelAlternateMergeSort 	Merge Sort Algorithm 3 run on a fork-join pool, splitting the merges
+   	 * of at least mergeThreshold elements between tasks along the merge path
+   	 */
+   	static int ParallelAlternateMergeSort(int[] A, int[]B, int p, int r, int mergeThreshold) {
+   		return POOL.invoke(new AlternateMergeTask(A, B, p, r, mergeThreshold));
+   	}
+   	
+   	static final int PARALLEL_THRESHOLD = 1<<13;	// Sub-arrays shorter than this are sorted sequentially
+   	
+   	static final ForkJoinPool POOL = new ForkJoinPool();	// The pool shared by all parallel sorts
+   	
+   	/**
+   	 * AlternateMergeTask 	Sort A[p...r] into A or B, returning the depth of the recursion tree
+   	 */
+   	static class AlternateMergeTask extends RecursiveTask<Integer> {
+   		
+   		private static final long serialVersionUID = 1L;
+   		
+   		final int[] A, B;
+   		final int p, r;
+   		final int mergeThreshold;	// Merges shorter than this are done by a single task
+   		
+   		AlternateMergeTask(int[] A, int[]B, int p, int r, int mergeThreshold) {
+   			this.A = A; this.B = B; this.p = p; this.r = r;
+   			this.mergeThreshold = mergeThreshold;
+   		}
+   		
+   		@Override
+   		protected Integer compute() {
+   			
+   			// Small sub-arrays are not worth a task. PARALLEL_THRESHOLD > CUTOFF keeps the split points
+   			// identical to the sequential algorithm.
+   			if((r-p) < PARALLEL_THRESHOLD){
+   				return AlternateMergeSort(A, B, p, r);
+   			}
+   			
+   			int q = p + ((r-p)>>1); // Get the medium element by shifting
+   			
+   			// Sort the left half in another task while this thread sorts the right half
+   			AlternateMergeTask left = new AlternateMergeTask(A, B, p, q, mergeThreshold);
+   			left.fork();
+   			int h2 = new AlternateMergeTask(A, B, q+1, r, mergeThreshold).compute();
+   			int h1 = left.join();
+   			
+   			if((r-p) < mergeThreshold){
+   				return AlternateCombine(A, B, p, q, r, h1, h2);
+   			}
+   			
+   			// Same as AlternateCombine, but the merge itself is split between tasks
+   			if((h1&1)==1){
+   				if(h1!=h2){	// Copy A[q+1...r] to B[q+1...r], then merge with B[p...q]
+   					System.arraycopy(A, q+1, B, q+1, r-q);
+   				}
+   				ParallelAlternateMerge(B, A, p, q, r, mergeThreshold);
+   			} else {
+   				if(h1!=h2){	// Copy B[q+1...r] to A[q+1...r], then merge with A[p...q]
+   					System.arraycopy(B, q+1, A, q+1, r-q);
+   				}
+   				ParallelAlternateMerge(A, B, p, q, r, mergeThreshold);
+   			}
+   			
+   			return ++h1;	// return the depth of the merged array
+   		}
+   	}
+   	
+   	static final int PARALLEL_MERGE_THRESHOLD = 1<<16;	// By default, merges shorter than this are done by a single task
+   	
+   	/**
+   	 * ParallelAlternateMerge 	Merge src[p...q] and src[q+1...r] into dest[p...r] on the fork-join pool.
+   	 * The output is cut into segments of at most PARALLEL_MERGE_THRESHOLD elements; the start of each
+   	 * segment in both runs is found by a binary search along the merge path (CoRank), so every task
+   	 * writes its own slice of dest and the result is the same as AlternateMerge.
+   	 */
+   	static void ParallelAlternateMerge(int[] src, int[]dest, int p, int q, int r) {
+   		ParallelAlternateMerge(src, dest, p, q, r, PARALLEL_MERGE_THRESHOLD);
+   	}
+   	
+   	/**
+   	 * ParallelAlternateMerge 	Merge src[p...q] and src[q+1...r] into dest[p...r] on the fork-join pool,
+   	 * in segments of at most mergeThreshold elements
+   	 */
+   	static void ParallelAlternateMerge(int[] src, int[]dest, int p, int q, int r, int mergeThreshold) {
+   		
+   		MergePathTask task = new MergePathTask(src, dest, p, q, r, p, r+1, mergeThreshold);
+   		
+   		if(ForkJoinTask.inForkJoinPool()){
+   			task.invoke();
+   		} else {
+   			POOL.invoke(task);
+   		}
+   	}
+   	
+   	/**
+   	 * CoRank 	Return how many elements of src[p...q] are among the first k-p merged elements of
+   	 * 			src[p...q] and src[q+1...r]. Ties go to the left run, as in AlternateMerge.
+   	 */
+   	static int CoRank(int[] src, int p, int q, int r, int k) {
+   		
+   		int t = k-p;		// The number of merged elements
+   		int ls = q-p+1;		// The size of the left run
+   		int rs = r-q;		// The size of the right run
+   		
+   		// Find the smallest i such that the i-th left element is not preceded by the (t-i)-th right element
+   		int lo = Math.max(0, t-rs), hi = Math.min(t, ls);
+   		while(lo < hi){
+   			int i = (lo+hi)>>>1;
+   			int j = t-i;
+   			if(j > 0 && i < ls && src[q+j] >= src[p+i]){
+   				lo = i+1;	// src[q+1+(j-1)] must come first, so more left elements are needed
+   			} else {
+   				hi = i;
+   			}
+   		}
+   		return lo;
+   	}
+   	
+   	/**
+   	 * MergePathTask 	Write dest[lo...hi-1] of the merge of src[p...q] and src[q+1...r]
+   	 */
+   	static class MergePathTask extends RecursiveAction {
+   		
+   		private static final long serialVersionUID = 1L;
+   		
+   		final int[] src, dest;
+   		final int p, q, r, lo, hi;
+   		final int mergeThreshold;	// Segments longer than this are split between tasks
+   		
+   		MergePathTask(int[] src, int[]dest, int p, int q, int r, int lo, int hi, int mergeThreshold) {
+   			this.src = src; this.dest = dest;
+   			this.p = p; this.q = q; this.r = r; this.lo = lo; this.hi = hi;
+   			this.mergeThreshold = mergeThreshold;
+   		}
+   		
+   		@Override
+   		protected void compute() {
+   			
+   			if((hi-lo) > mergeThreshold){
+   				int mid = lo + ((hi-lo)>>1);
+   				invokeAll(new MergePathTask(src, dest, p, q, r, lo, mid, mergeThreshold),
+   						  new MergePathTask(src, dest, p, q, r, mid, hi, mergeThreshold));
+   				return;
+   			}
+   			
+   			// Locate the start of this segment in both runs
+   			int i = p + CoRank(src, p, q, r, lo);
+   			int j = q+1 + (lo-p) - (i-p);
+   			
+   			for(int k=lo; k<hi; k++) {
+   				if ((j>r) || ((i<=q) && (src[i] <= src[j])))
+   					dest[k] = src[i++];
+   				else
+   					dest[k] = src[j++];
+   			}
+   		}
+   	}
+ 
    	public static void main(String[] args) throws IOException{
         
    		// Take integer n from command line as input
@@ -284,6 +714,62 @@ public class kxh132430Sort {
         System.out.println("Success!");
         System.out.println("Algorithm 3 took " + (endTime - startTime) + " milliseconds");
 		
+        
+        
+        // Re-populates A with numbers in reverse sorted order.
+        A = new int[n];
+        for (int i = 0; i < n; i++) {
+            A[i] = n-i;
+        }
+        
+        // Create a global auxiliary array B for NaturalMergeSort
+        B = new int[n];
+        
+        // Calculate the running time of the NaturalMergeSort
+        startTime = System.currentTimeMillis();
+        NaturalMergeSort(A, B, 0, n-1);
+        endTime = System.currentTimeMillis();
+       
+        // Test whether the algorithm 4 succeeded in sorting the array.
+        for (int j = 0; j < A.length-1; j++) {
+            if(A[j] > A[j+1]) {
+            	System.out.println("Sorting failed :-(");
+            	return;
+            }
+        }
+        System.out.println("Success!");
+        System.out.println("Algorithm 4 took " + (endTime - startTime) + " milliseconds");
+        
+        
+        
+        // Re-populates A with numbers in reverse sorted order.
+        for (int i = 0; i < n; i++) {
+            A[i] = n-i;
+        }
+        
+        // Create a global auxiliary array B shared by all the tasks
+        B = new int[n];
+        
+        // Calculate the running time of the ParallelAlternateMergeSort
+        startTime = System.currentTimeMillis();
+        h = ParallelAlternateMergeSort(A, B, 0, n-1); // Get the depth of the recursion tree 
+        endTime = System.currentTimeMillis();
+       
+        // If depth is odd, the sorted data is in B. Let A reference to B
+		if((h&1)==1){ 
+			A = B;
+		} 
+		 
+		// Test whether the parallel algorithm 3 succeeded in sorting the array.
+        for (int j = 0; j < A.length-1; j++) {
+            if(A[j] > A[j+1]) {
+            	System.out.println("Sorting failed :-(");
+            	return;
+            }
+        }
+        System.out.println("Success!");
+        System.out.println("Parallel algorithm 3 took " + (endTime - startTime) + " milliseconds");
+		
     }	
     
 }	
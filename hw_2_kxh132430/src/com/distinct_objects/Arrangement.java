@@ -0,0 +1,68 @@
+/**
+ * @(#)Arrangement.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.util.Arrays;
+
+/**
+ * The Arrangement class is a read-only view of an arrangement, or of a partial one,
+ * inside the array of an enumeration engine. Objects are numbered from 1, as in the
+ * engines: get(1) is the first object and get(size()) the last.
+ *
+ * The engines change the array after every call back, so a visitor that keeps an
+ * arrangement has to copy it with toArray.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public final class Arrangement {
+
+	private final int[] A;		// The array of the engine
+	private int offset, size;	// The view is A[offset...offset+size-1]
+
+	Arrangement(int[] A){
+		this.A = A;
+	}
+
+	/**
+	 * of 				point the view at A[offset...offset+size-1]
+	 */
+	Arrangement of(int offset, int size){
+		this.offset = offset;
+		this.size = size;
+		return this;
+	}
+
+	/**
+	 * get 				the i-th object of the arrangement, for i between 1 and size()
+	 */
+	public int get(int i){
+		if(i < 1 || i > size) throw new IndexOutOfBoundsException("object " + i + " of " + size);
+		return A[offset + i - 1];
+	}
+
+	/**
+	 * size 			the number of objects in the arrangement
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * toArray 			a copy of the objects, the first one at index 0
+	 */
+	public int[] toArray(){
+		return Arrays.copyOfRange(A, offset, offset + size);
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder line = new StringBuilder();
+		for(int i = 0; i < size; i++){
+			line.append(A[offset + i]).append(' ');
+		}
+		return line.toString();
+	}
+}
@@ -0,0 +1,133 @@
+/**
+ * @(#)Arrangements.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.util.Spliterator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The Arrangements class exposes the permutations/combinations of k objects from a set of
+ * n distinct objects, numbered 1..n, as spliterators and streams, in the orders
+ * Distinct.permutation and Distinct.combination visit them.
+ *
+ * Ranks are longs, so P(n,k) or C(n,k) has to fit in a long; otherwise an
+ * ArithmeticException is thrown when the spliterator is made.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public final class Arrangements {
+
+	private Arrangements() {}
+
+	/**
+	 * permutations		a stream of the permutations of k objects from n, each in a new array
+	 */
+	public static Stream<int[]> permutations(int n, int k, boolean parallel){
+		return StreamSupport.stream(permutationSpliterator(n, k, false), parallel);
+	}
+
+	/**
+	 * combinations		a stream of the combinations of k objects from n in increasing order, each in a new array
+	 */
+	public static Stream<int[]> combinations(int n, int k, boolean parallel){
+		return StreamSupport.stream(combinationSpliterator(n, k, false), parallel);
+	}
+
+	/**
+	 * permutationSpliterator	the permutations of k objects from n
+	 * @param reuse				whether to pass the same array for every permutation
+	 */
+	public static Spliterator<int[]> permutationSpliterator(int n, int k, boolean reuse){
+		return new PermutationSpliterator(n, k, 0, Rank.permutations(n, k), reuse);
+	}
+
+	/**
+	 * combinationSpliterator	the combinations of k objects from n
+	 * @param reuse				whether to pass the same array for every combination
+	 */
+	public static Spliterator<int[]> combinationSpliterator(int n, int k, boolean reuse){
+		return new CombinationSpliterator(n, k, 0, Rank.combinations(n, k), reuse);
+	}
+
+	/**
+	 * permutationRanks 	the ranks of the permutations of k objects from n. Counting them, or mapping
+	 * 						each to a result with Rank.unrankPermutation, needs no walk at all.
+	 */
+	public static LongStream permutationRanks(int n, int k){
+		return LongStream.range(0, Rank.permutations(n, k));
+	}
+
+	/**
+	 * combinationRanks 	the ranks of the combinations of k objects from n
+	 */
+	public static LongStream combinationRanks(int n, int k){
+		return LongStream.range(0, Rank.combinations(n, k));
+	}
+
+	/**
+	 * PermutationSpliterator 	A[1...k] is the permutation, and A[k+1...n] the other objects in increasing order
+	 */
+	static class PermutationSpliterator extends RankSpliterator {
+
+		PermutationSpliterator(int n, int k, long from, long to, boolean reuse){
+			super(n, k, from, to, reuse);
+		}
+
+		@Override
+		protected void unrank(long r, int[] A){
+			Rank.unrankPermutation(r, n, size, A);
+		}
+
+		@Override
+		protected void step(int[] A){
+			nextPermutation(A, n, size);
+		}
+
+		@Override
+		protected void read(int[] A, int[] out){
+			System.arraycopy(A, 1, out, 0, size);
+		}
+
+		@Override
+		protected RankSpliterator split(long from, long to, boolean reuse){
+			return new PermutationSpliterator(n, size, from, to, reuse);
+		}
+	}
+
+	/**
+	 * CombinationSpliterator 	A[i] = 1 when object i is chosen
+	 */
+	static class CombinationSpliterator extends RankSpliterator {
+
+		CombinationSpliterator(int n, int k, long from, long to, boolean reuse){
+			super(n, k, from, to, reuse);
+		}
+
+		@Override
+		protected void unrank(long r, int[] A){
+			Rank.unrankCombination(r, n, size, A);
+		}
+
+		@Override
+		protected void step(int[] A){
+			Distinct.nextCombination(A, n);
+		}
+
+		@Override
+		protected void read(int[] A, int[] out){
+			for(int i = 1, j = 0; j < size; i++){
+				if(A[i] != 0) out[j++] = i;
+			}
+		}
+
+		@Override
+		protected RankSpliterator split(long from, long to, boolean reuse){
+			return new CombinationSpliterator(n, size, from, to, reuse);
+		}
+	}
+}
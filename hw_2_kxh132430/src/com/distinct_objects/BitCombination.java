@@ -0,0 +1,308 @@
+/**
+ * @(#)BitCombination.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+/**
+ * The BitCombination class visits all combinations of k objects from a set of n distinct
+ * objects, numbered 1..n, as bit masks: object i is chosen when bit i-1 is set. The
+ * combinations come in the order Distinct.combination visits them, which chooses object n
+ * first, so the masks decrease.
+ *
+ * For n up to 64 a combination is a single long, and the next one is found by Gosper's hack
+ * on the complement of the mask, which has n-k bits set: the next larger complement is the
+ * next smaller mask. For larger n the mask is a long[] of 64 bits per word, stepped in place.
+ * Neither loop allocates anything.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+
+public class BitCombination {
+
+	/**
+	 * MaskVisitor		visit a combination of at most 64 objects
+	 */
+	public interface MaskVisitor {
+		void visit(long mask);
+	}
+
+	/**
+	 * WordsVisitor		visit a combination held in words of 64 bits, lowest objects first.
+	 * 					The array is reused for the next combination.
+	 */
+	public interface WordsVisitor {
+		void visit(long[] mask);
+	}
+
+	/**
+	 * combination		visit all combinations of k objects from n distinct objects, printing them if v = 3
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param v			v is the verbose
+	 * @return count	count is the number of all possible combinations in C(n,k)
+	 */
+	static long combination(int n, int k, int v){
+		return combination(n, k, v, Checkpoint.NONE);
+	}
+
+	/**
+	 * combination		visit all combinations of k objects from n distinct objects, printing them if v = 3 and
+	 * 					saving the chosen objects of the last one to checkpoint from time to time. If checkpoint
+	 * 					holds the state of an earlier run, the walk continues after the combination saved in it.
+	 * @param checkpoint	checkpoint is the checkpoint of the walk, or Checkpoint.NONE
+	 * @return count	count is the number of all possible combinations in C(n,k)
+	 */
+	static long combination(int n, int k, int v, Checkpoint checkpoint){
+
+		if(k < 0 || k > n) return 0;	// There is no combination
+
+		Printer printer = new Printer(k, v, checkpoint);
+		Checkpoint.State state = checkpoint.load();
+
+		if(n <= 64){
+			long mask = low(k) << (n-k);		// Objects n-k+1...n
+			if(state != null){
+				if(state.done) return state.count;
+				printer.count = state.count;
+
+				// Start after the saved combination
+				mask = 0;
+				for(int x : state.A){
+					mask |= 1L << (x-1);
+				}
+				if(mask == low(k)){
+					checkpoint.finish(printer.count);
+					return printer.count;
+				}
+				mask = next(mask, low(n));
+			}
+			combination(mask, low(k), low(n), printer);
+		} else {
+			long[] mask = new long[(n + 63) >>> 6];
+			if(state == null){
+				setBits(mask, n-k, n);			// Objects n-k+1...n
+			} else {
+				if(state.done) return state.count;
+				printer.count = state.count;
+
+				// Start after the saved combination
+				for(int x : state.A){
+					mask[(x-1) >>> 6] |= 1L << (x-1);
+				}
+				if(!next(mask, n)){
+					checkpoint.finish(printer.count);
+					return printer.count;
+				}
+			}
+			wideCombination(mask, n, printer);
+		}
+
+		checkpoint.finish(printer.count);
+		return printer.count;
+	}
+
+	/**
+	 * Printer 			print the combinations if v = 3, count them and save the last one to the checkpoint when it is due
+	 */
+	static class Printer implements MaskVisitor, WordsVisitor {
+
+		final int v;
+		final Checkpoint checkpoint;
+		final int[] objects;	// The chosen objects of the combination saved
+		long count = 0;
+
+		Printer(int k, int v, Checkpoint checkpoint){
+			this.v = v; this.checkpoint = checkpoint;
+			this.objects = new int[k];
+		}
+
+		@Override
+		public void visit(long mask){
+			if(v == 3) print(mask);
+			if(checkpoint.due(++count)){
+				int i = 0;
+				for(long m = mask; m != 0; m &= m - 1){
+					objects[i++] = Long.numberOfTrailingZeros(m) + 1;
+				}
+				checkpoint.save(objects, count);
+			}
+		}
+
+		@Override
+		public void visit(long[] mask){
+			if(v == 3) print(mask);
+			if(checkpoint.due(++count)){
+				int i = 0;
+				for(int w = 0; w < mask.length; w++){
+					for(long m = mask[w]; m != 0; m &= m - 1){
+						objects[i++] = (w << 6) + Long.numberOfTrailingZeros(m) + 1;
+					}
+				}
+				checkpoint.save(objects, count);
+			}
+		}
+	}
+
+	/**
+	 * combination		visit all combinations of k objects from n distinct objects, for n up to 64
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param visitor	visitor is given the mask of every combination
+	 * @return count	count is the number of all possible combinations in C(n,k)
+	 */
+	public static long combination(int n, int k, MaskVisitor visitor){
+		if(k < 0 || k > n) return 0;	// There is no combination
+		return combination(low(k) << (n-k), low(k), low(n), visitor);	// From objects n-k+1...n to objects 1...k
+	}
+
+	/**
+	 * combination		visit the combinations from mask down to last, masks of the bits in full
+	 * @return count	count is the number of combinations visited
+	 */
+	static long combination(long mask, long last, long full, MaskVisitor visitor){
+
+		long count = 0;
+		while(true){
+			visitor.visit(mask);
+			count++;
+			if(mask == last) return count;
+			mask = next(mask, full);
+		}
+	}
+
+	/**
+	 * next 			the next smaller mask of the bits in full with as many bits set
+	 */
+	static long next(long mask, long full){
+
+		// Gosper's hack on the complement: add the lowest set bit to carry its block of ones one
+		// position up, and move the rest of the block down to the lowest bits
+		long y = ~mask & full;
+		long c = y & -y;
+		long r = y + c;
+		y = r | (((r ^ y) >>> 2) >>> Long.numberOfTrailingZeros(c));
+
+		return ~y & full;
+	}
+
+	/**
+	 * low 				a mask of the lowest b bits, for b between 0 and 64
+	 */
+	static long low(int b){
+		return b == 64 ? -1L : (1L << b) - 1;
+	}
+
+	/**
+	 * wideCombination	visit all combinations of k objects from n distinct objects, for any n
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param visitor	visitor is given the mask of every combination
+	 * @return count	count is the number of all possible combinations in C(n,k)
+	 */
+	public static long wideCombination(int n, int k, WordsVisitor visitor){
+
+		if(k < 0 || k > n) return 0;	// There is no combination
+
+		long[] mask = new long[(n + 63) >>> 6];
+		setBits(mask, n-k, n);			// Objects n-k+1...n
+
+		return wideCombination(mask, n, visitor);
+	}
+
+	/**
+	 * wideCombination	visit the combinations of n bits from mask on, stepping mask in place
+	 * @return count	count is the number of combinations visited
+	 */
+	static long wideCombination(long[] mask, int n, WordsVisitor visitor){
+
+		long count = 0;
+		do{
+			visitor.visit(mask);
+			count++;
+		} while(next(mask, n));
+		return count;
+	}
+
+	/**
+	 * next 			step mask to the next smaller mask of n bits with as many bits set
+	 * @return			false if mask holds the lowest bits already
+	 */
+	static boolean next(long[] mask, int n){
+
+		// b is the number of trailing ones, and p the lowest set bit above them
+		int b = nextBit(mask, 0, n, false);
+		int p = nextBit(mask, b, n, true);
+		if(p >= n) return false;
+
+		// Move the bit at p down by one, and the b trailing ones right below it
+		clearBits(mask, 0, b);
+		mask[p >>> 6] &= ~(1L << p);
+		setBits(mask, p-1-b, p);
+		return true;
+	}
+
+	/**
+	 * nextBit 			the position of the first bit at or after i that is set (or clear, if set is false), or n
+	 */
+	static int nextBit(long[] mask, int i, int n, boolean set){
+
+		for(int w = i >>> 6; w < mask.length; w++){
+			long word = set ? mask[w] : ~mask[w];
+			if(w == (i >>> 6)) word &= -1L << i;	// Skip the bits below i
+			if(word != 0){
+				return Math.min((w << 6) + Long.numberOfTrailingZeros(word), n);
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * setBits 			set bits from...to-1
+	 */
+	static void setBits(long[] mask, int from, int to){
+		for(int i = from; i < to; ){
+			int w = i >>> 6, e = Math.min(to, (w+1) << 6);
+			mask[w] |= low(e - i) << i;
+			i = e;
+		}
+	}
+
+	/**
+	 * clearBits 		clear bits from...to-1
+	 */
+	static void clearBits(long[] mask, int from, int to){
+		for(int i = from; i < to; ){
+			int w = i >>> 6, e = Math.min(to, (w+1) << 6);
+			mask[w] &= ~(low(e - i) << i);
+			i = e;
+		}
+	}
+
+	/**
+	 * print 			print the objects chosen by mask in increasing order, one line per combination
+	 */
+	static void print(long mask){
+
+		OutputSink out = OutputSink.out();
+		for(long m = mask; m != 0; m &= m - 1){
+			out.put(Long.numberOfTrailingZeros(m) + 1);
+		}
+		out.endLine();
+	}
+
+	/**
+	 * print 			print the objects chosen by mask in increasing order, one line per combination
+	 */
+	static void print(long[] mask){
+
+		OutputSink out = OutputSink.out();
+		for(int w = 0; w < mask.length; w++){
+			for(long m = mask[w]; m != 0; m &= m - 1){
+				out.put((w << 6) + Long.numberOfTrailingZeros(m) + 1);
+			}
+		}
+		out.endLine();
+	}
+}
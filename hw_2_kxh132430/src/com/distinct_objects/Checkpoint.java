@@ -0,0 +1,273 @@
+/**
+ * @(#)Checkpoint.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * The Checkpoint class saves the state of a long enumeration, so that a later run with the
+ * same arguments continues where it stopped instead of starting over. The state is the last
+ * arrangement visited, as the array A of the enumeration, and the number of arrangements
+ * visited up to it, which is also the rank of the next one.
+ *
+ * Checkpoints are written to the file named by the system property checkpoint, as in
+ * -Dcheckpoint=perms.ckp, every checkpoint.interval seconds (60 by default). A file is
+ * written next to it and renamed over it, so a crash leaves the old state or the new one,
+ * never half of one. The clock is read once every CHECK visits only.
+ *
+ * The file holds the MAGIC number, the VERSION, the tag and parameters of the run, which must
+ * match when it is read back, whether the range is done, the count, the length of the output
+ * file (see OutputSink) and A, in the big-endian format of DataOutputStream. The parallel
+ * workers write one file each, named by their number.
+ *
+ * When a run resumes, its output file is cut to the length saved with the state, so the lines
+ * printed after the last checkpoint, which are printed again, do not appear twice. In a parallel
+ * run the workers save at different times, and the file is cut to the longest of their lengths:
+ * no line is lost, but the lines a worker printed after its own last checkpoint appear twice.
+ * A compressed output cannot be cut, so it cannot be combined with a checkpoint.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public final class Checkpoint {
+
+	static final int MAGIC = 0x434B5054;		// "CKPT"
+	static final int VERSION = 2;
+	static final long CHECK = (1L<<16) - 1;		// The clock is read when count & CHECK is 0
+
+	/**
+	 * NONE 			a checkpoint that is never written
+	 */
+	public static final Checkpoint NONE = new Checkpoint(null, "", new int[0], 0);
+
+	private final Path path;		// null if checkpoints are off
+	private final String tag;		// The enumeration that writes the checkpoint
+	private final int[] params;		// The arguments of the run
+	private final long interval;	// The time between two checkpoints, in milliseconds
+	private long next;				// The time of the next checkpoint
+
+	Checkpoint(Path path, String tag, int[] params, long interval){
+		this.path = path; this.tag = tag; this.params = params; this.interval = interval;
+		this.next = System.currentTimeMillis() + interval;
+	}
+
+	/**
+	 * State 			the state read back from a checkpoint file
+	 */
+	public static final class State {
+
+		public final boolean done;	// Whether the whole range was visited
+		public final long count;	// The number of arrangements visited
+		public final long output;	// The length of the output file at the state, or -1 for stdout
+		public final int[] A;		// The last arrangement visited, or null if done
+
+		State(boolean done, long count, long output, int[] A){
+			this.done = done; this.count = count; this.output = output; this.A = A;
+		}
+	}
+
+	/**
+	 * open 			the checkpoint of a run, as configured by the system properties checkpoint
+	 * 					and checkpoint.interval, or NONE if there is no checkpoint property. If the run
+	 * 					resumes, the output file is kept up to the length saved in its checkpoints.
+	 * @param tag		tag names the enumeration
+	 * @param params	params are the arguments of the run
+	 * @throws IllegalArgumentException	if the output is compressed, or a file was written by a different run
+	 */
+	public static Checkpoint open(String tag, int... params){
+
+		String name = System.getProperty("checkpoint");
+		if(name == null) return NONE;
+
+		String output = System.getProperty("output");
+		if(output != null && output.endsWith(".gz")){
+			throw new IllegalArgumentException("-Dcheckpoint is not supported with a compressed -Doutput");
+		}
+
+		long seconds = Long.parseLong(System.getProperty("checkpoint.interval", "60"));
+		Checkpoint checkpoint = new Checkpoint(Paths.get(name), tag, params.clone(), seconds * 1000);
+		checkpoint.resumeOutput();
+		return checkpoint;
+	}
+
+	/**
+	 * resumeOutput 	keep the output file up to the longest length saved in the checkpoint file or the
+	 * 					files of its workers, if any of them exists
+	 */
+	private void resumeOutput(){
+
+		long length = -1;
+		if(Files.exists(path)) length = read(path, false).output;
+
+		// The workers that saved a state, named by their number after the name of the checkpoint
+		Path dir = path.toAbsolutePath().getParent();
+		String worker = Pattern.quote(path.getFileName().toString()) + "\\.\\d+";
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, p -> p.getFileName().toString().matches(worker))) {
+			for(Path file : files){
+				length = Math.max(length, read(file, true).output);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		if(length > 0) OutputSink.resume(length);
+	}
+
+	/**
+	 * worker 			the checkpoint of worker id of a parallel run, in its own file
+	 * @param extra		extra are the arguments that set the range of the worker
+	 */
+	public Checkpoint worker(int id, int... extra){
+
+		if(path == null) return NONE;
+
+		int[] all = Arrays.copyOf(params, params.length + extra.length + 1);
+		System.arraycopy(extra, 0, all, params.length, extra.length);
+		all[all.length-1] = id;
+		return new Checkpoint(worker(id), tag, all, interval);
+	}
+
+	private Path worker(int id){
+		return path.resolveSibling(path.getFileName() + "." + id);
+	}
+
+	/**
+	 * due 				whether a checkpoint should be written after count visits
+	 */
+	public boolean due(long count){
+		return path != null && (count & CHECK) == 0 && System.currentTimeMillis() >= next;
+	}
+
+	/**
+	 * load 			the state saved by an earlier run, or null if there is none
+	 * @throws IllegalArgumentException	if the file was written by a different run
+	 */
+	public State load(){
+
+		if(path == null || !Files.exists(path)) return null;
+		return read(path, false);
+	}
+
+	/**
+	 * read 			the state saved in file, by this run or, if worker is true, by one of its workers
+	 * @throws IllegalArgumentException	if the file was written by a different run
+	 */
+	private State read(Path file, boolean worker){
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+			if(in.readInt() != MAGIC || in.readInt() != VERSION){
+				throw new IllegalArgumentException(file + " is not a checkpoint");
+			}
+
+			// A worker adds the arguments of its range to those of the run
+			String tag = in.readUTF();
+			int[] params = readInts(in);
+			int[] run = worker ? Arrays.copyOf(params, Math.min(params.length, this.params.length)) : params;
+			if(!this.tag.equals(tag) || !Arrays.equals(this.params, run)){
+				throw new IllegalArgumentException(file + " is the checkpoint of " + tag + " "
+						+ Arrays.toString(params) + ", not of " + this.tag + " " + Arrays.toString(this.params));
+			}
+
+			boolean done = in.readBoolean();
+			long count = in.readLong();
+			long output = in.readLong();
+			return new State(done, count, output, done ? null : readInts(in));
+
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * save 			write the state after count visits, A being the last arrangement visited
+	 */
+	public void save(int[] A, long count){
+		long output = OutputSink.sync();	// Print the lines up to A first, so that none is lost if the run stops after the save
+		write(false, count, output, A);
+		next = System.currentTimeMillis() + interval;
+	}
+
+	/**
+	 * finish 			mark the range as done, after count visits in all
+	 */
+	public void finish(long count){
+		if(path == null) return;
+		write(true, count, OutputSink.sync(), null);
+	}
+
+	/**
+	 * delete 			remove the checkpoint file, and the files of the first workers workers
+	 */
+	public void delete(int workers){
+
+		if(path == null) return;
+		try {
+			Files.deleteIfExists(path);
+			for(int id = 0; id < workers; id++){
+				Files.deleteIfExists(worker(id));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * write 			write the state to a new file and rename it over the checkpoint file
+	 */
+	private void write(boolean done, long count, long output, int[] A){
+
+		if(path == null) return;
+
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(tag);
+				writeInts(out, params);
+				out.writeBoolean(done);
+				out.writeLong(count);
+				out.writeLong(output);
+				if(!done) writeInts(out, A);
+			}
+			try {
+				Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void writeInts(DataOutputStream out, int[] A) throws IOException {
+		out.writeInt(A.length);
+		for(int x : A){
+			out.writeInt(x);
+		}
+	}
+
+	private static int[] readInts(DataInputStream in) throws IOException {
+		int[] A = new int[in.readInt()];
+		for(int i = 0; i < A.length; i++){
+			A[i] = in.readInt();
+		}
+		return A;
+	}
+}
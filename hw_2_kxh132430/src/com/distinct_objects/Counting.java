@@ -0,0 +1,148 @@
+/**
+ * @(#)Counting.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.math.BigInteger;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The Counting class counts permutations and combinations without visiting them.
+ *
+ * Every count is a ratio of factorials. The exponent of a prime p in m! is
+ * m/p + m/p^2 + ... (Legendre's formula), so the exponents of the ratio are found without
+ * multiplying anything, and the count is the product of the prime powers. The product is
+ * taken over a balanced tree, whose large subtrees are multiplied in parallel on the
+ * common fork-join pool.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+
+public class Counting {
+
+	static final int LEAF = 16;					// Prime powers multiplied one by one in a leaf of the product tree
+	static final int PARALLEL_THRESHOLD = 256;	// Smaller subtrees are multiplied by a single thread
+
+	/**
+	 * permutations		the number of permutations of k objects from n distinct objects, n!/(n-k)!
+	 */
+	public static BigInteger permutations(int n, int k){
+		if(k < 0 || k > n) return BigInteger.ZERO;
+		return ratio(n, new int[] {n-k});
+	}
+
+	/**
+	 * combinations		the number of combinations of k objects from n distinct objects, n!/(k!(n-k)!)
+	 */
+	public static BigInteger combinations(int n, int k){
+		if(k < 0 || k > n) return BigInteger.ZERO;
+		return ratio(n, new int[] {k, n-k});
+	}
+
+	/**
+	 * multinomial		the number of distinct permutations of n objects, of which counts[i] are equal
+	 * 					to each other for every i, n!/(counts[0]!counts[1]!...)
+	 * @param counts	counts holds the multiplicities of the distinct objects, adding up to n
+	 */
+	public static BigInteger multinomial(int[] counts){
+		int n = 0;
+		for(int c : counts){
+			n += c;
+		}
+		return ratio(n, counts);
+	}
+
+	/**
+	 * ratio 			n! divided by the product of m! for every m in below, which must be a whole number
+	 */
+	static BigInteger ratio(int n, int[] below){
+
+		int[] primes = primes(n);
+		BigInteger[] factors = new BigInteger[primes.length];
+		int f = 0;
+
+		for(int p : primes){
+			long e = exponent(n, p);
+			for(int m : below){
+				e -= exponent(m, p);
+			}
+			if(e > 0) factors[f++] = BigInteger.valueOf(p).pow((int) e);
+		}
+		if(f == 0) return BigInteger.ONE;
+
+		return new ProductTask(factors, 0, f-1).invoke();
+	}
+
+	/**
+	 * exponent 		the exponent of the prime p in m!
+	 */
+	static long exponent(int m, int p){
+		long e = 0;
+		for(long q = p; q <= m; q *= p){
+			e += m / q;
+		}
+		return e;
+	}
+
+	/**
+	 * primes 			the primes up to n, by the sieve of Eratosthenes
+	 */
+	static int[] primes(int n){
+
+		boolean[] composite = new boolean[n+1];
+		int[] primes = new int[n+1];
+		int count = 0;
+
+		for(int i = 2; i <= n; i++){
+			if(composite[i]) continue;
+			primes[count++] = i;
+			for(long j = (long) i * i; j <= n; j += i){
+				composite[(int) j] = true;
+			}
+		}
+		int[] result = new int[count];
+		System.arraycopy(primes, 0, result, 0, count);
+		return result;
+	}
+
+	/**
+	 * ProductTask 		the product of factors[p...r], splitting it in halves so that the operands
+	 * 					of every multiplication have about the same length
+	 */
+	static class ProductTask extends RecursiveTask<BigInteger> {
+
+		private static final long serialVersionUID = 1L;
+
+		final BigInteger[] factors;
+		final int p, r;
+
+		ProductTask(BigInteger[] factors, int p, int r){
+			this.factors = factors; this.p = p; this.r = r;
+		}
+
+		@Override
+		protected BigInteger compute(){
+
+			if(r - p < LEAF){
+				BigInteger product = factors[p];
+				for(int i = p+1; i <= r; i++){
+					product = product.multiply(factors[i]);
+				}
+				return product;
+			}
+
+			int q = p + ((r-p)>>1);
+			ProductTask left = new ProductTask(factors, p, q);
+			ProductTask right = new ProductTask(factors, q+1, r);
+
+			if(r - p < PARALLEL_THRESHOLD){
+				return left.compute().multiply(right.compute());
+			}
+			left.fork();
+			BigInteger product = right.compute();
+			return left.join().multiply(product);
+		}
+	}
+}
@@ -4,6 +4,12 @@
 
 package com.distinct_objects;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * The Distinct class visits all permutations/combinations of k objects
    from a set of n distinct objects, numbered 1..n. 
@@ -16,10 +22,18 @@ public class Distinct {
 
 	static int N=0, K=0;	// Global variables to hold the value of n and k
 	
+	static final int TASKS_PER_THREAD = 4;	// Prefixes per worker thread in the parallel mode, so that idle workers can steal
+	
 	/**.
 	 * @param args[0]		n is the total number of objects
 	 * @param args[1]		k is the number of objects chosen from n
 	 * @param args[2]		v is the verbose
+	 * @param args[3]		t is the number of threads (optional); if given, permutations are visited in parallel with v = 2
+	 * 						With -Dorder=gray, v = 2 and v = 3 visit in minimal-change order (see MinimalChange)
+	 * 						instead of lexicographic order.
+	 * 						With -Dcheckpoint=path, v = 2 and v = 3 in lexicographic order save their state from time
+	 * 						to time, and a later run with the same arguments resumes from it (see Checkpoint).
+	 * 						-Dcheckpoint cannot be combined with -Dorder=gray.
 	 * @return
 	 */
 	public static void main(String[] args) {
@@ -28,12 +42,17 @@ public class Distinct {
 	     int n = Integer.parseInt(args[0]);		//n is between 3 and 1000; 
 	     int k = Integer.parseInt(args[1]);		//k is an integer between 0 and n;
 	     int v = Integer.parseInt(args[2]);		//v is in {0,1,2,3}.
+	     int t = args.length > 3 ? Integer.parseInt(args[3]) : 0;	//t is 0 for the sequential mode
+	     boolean gray = "gray".equals(System.getProperty("order", "lex"));	// The order of visits
+	     if(gray && System.getProperty("checkpoint") != null){
+	    	 throw new IllegalArgumentException("-Dcheckpoint is not supported with -Dorder=gray");	// Only the lexicographic order resumes
+	     }
 	     
 	     N = n; K = k;		// Copy n, k to N, K for the convenience of subsequent retrieval
 	     
 	     int [] A = new int [n+1];	// 	The array that holds the data
 	     
-	     long sum = 0;  // The total counts of all possible permutations/combinations
+	     BigInteger sum = BigInteger.ZERO;  // The total counts of all possible permutations/combinations
 	     
 	     long startTime=0, endTime=0;	// The start and end time of running the algorithm
 	     
@@ -45,16 +64,9 @@ public class Distinct {
 	     	 * */
 	     	case 0: {
 	     		
-	     		// Initialize array A with 1...n 
-	     	    for(int i = 1; i <= n; i++){
-	   	    	 A[i] = i;
-	   	        }
-	     	    
-	     	    A[0] = -1;	// Introduce a sentinel A[0], which is strictly less than the largest element in A[1...n].
-	     	    
-	     	    //visit P(n, k) and get the number of all possible permutations
+	     	    // Nothing is printed, so count P(n, k) = n!/(n-k)! without visiting the permutations
 	     	    startTime = System.currentTimeMillis();
-	     	    sum = permutation(A, n, k, v); 	
+	     	    sum = Counting.permutations(n, k); 	
 	            endTime = System.currentTimeMillis();
 	            
 	     		break;
@@ -66,14 +78,9 @@ public class Distinct {
 	     	 * */
 	     	case 1: {
 	     		
-	     		// Initialize array A with {0}. When an object is selected, A[i] = 1; otherwise A[i] = 0
-	   	        for(int i = 1; i <= n; i++){
-	   	    	   A[i] = 0;
-	   	        }
-	   	        
-	   	        // visit C(n, k) and get the number of all possible combinations
+	   	        // Nothing is printed, so count C(n, k) = n!/(k!(n-k)!) without visiting the combinations
 	   	        startTime = System.currentTimeMillis();
-	   	        sum = combination(A, n, k, v);	
+	   	        sum = Counting.combinations(n, k);	
 	            endTime = System.currentTimeMillis();
 	            
 	     		break;
@@ -94,7 +101,16 @@ public class Distinct {
 	     	   
 	     	    //visit P(n, k) and get the number of all possible permutations
 	     	    startTime = System.currentTimeMillis();
-	     	    sum = permutation(A, n, k, v); 	
+	     	    if(gray) sum = BigInteger.valueOf(MinimalChange.permutation(n, k, v));
+	     	    else {
+	     	    	Checkpoint checkpoint = Checkpoint.open("distinct.permutation", n, k);
+	     	    	if(t > 0) sum = BigInteger.valueOf(parallelPermutation(n, k, v, t, checkpoint));
+	     	    	else {
+	     	    		sum = BigInteger.valueOf(permutation(A, 1, n, k, v, Long.MAX_VALUE, checkpoint));
+	     	    		checkpoint.delete(0);	// The run is complete
+	     	    	}
+	     	    }
+	     	    OutputSink.finish();	// Write out what is still buffered
 	            endTime = System.currentTimeMillis();
 	            
 	     	    break;
@@ -107,14 +123,15 @@ public class Distinct {
 	     	 * */
 	     	case 3: {
 	     		
-	     		// Initialize array A with {0}. When an object is selected, A[i] = 1; otherwise A[i] = 0
-	     		for(int i = 1; i <= n; i++){
-		   	    	   A[i] = 0;
-		   	     }
-	     		
-	     		// visit C(n, k) and get the number of all possible combinations
+	     		// visit C(n, k) as bit masks, in the order of combination, and get the number of all possible combinations
 	     		startTime = System.currentTimeMillis();
-	     		sum = combination(A, n, k, v);    
+	     		if(gray) sum = BigInteger.valueOf(MinimalChange.combination(n, k, v));
+	     		else {
+	     			Checkpoint checkpoint = Checkpoint.open("distinct.combination", n, k);
+	     			sum = BigInteger.valueOf(BitCombination.combination(n, k, v, checkpoint));
+	     			checkpoint.delete(0);	// The run is complete
+	     		}
+	     		OutputSink.finish();	// Write out what is still buffered
 		        endTime = System.currentTimeMillis();
 		        
 	     		break;
@@ -158,6 +175,127 @@ public class Distinct {
 		return count;
 	}
 	
+	/**
+	 * combination		visit all combinations of k objects from a set of n distinct objects, in the same order as 
+	 * 					combination above. The visitor sees the chosen objects in increasing order; a prefix holds
+	 * 					the objects chosen so far, which are the largest ones.
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param visitor	visitor is called back for every combination and prefix
+	 * @return count	count is the number of combinations visited
+	 */
+	public static long combination(int n, int k, Visitor visitor){
+		
+		Walk walk = new Walk(new int [k+1], visitor);
+		combination(walk.A, n, k, k, walk);
+		return walk.count;
+	}
+	
+	/**
+	 * combination		choose k more objects from 1...i into C[1...k], below the objects already in C[k+1...K]
+	 */
+	static void combination(int[] C, int i, int k, int K, Walk walk){
+		
+		// If k = 0, visit C[1...K]
+		if(k == 0){
+			walk.visit(1, K);
+			return;
+		}
+		
+		// If i < k, then do nothing
+		if(i < k) return;
+		
+		C[k] = i;	// Choose object i, unless the visitor rejects the prefix C[k...K]
+		if(k == 1 || walk.accept(k, K-k+1)){
+			combination(C, i - 1, k - 1, K, walk);
+		}
+		
+		if(walk.stopped) return;
+		combination(C, i - 1, k, K, walk);	// Not choose object i
+	}
+	
+	/**
+	 * Walk 			the state of a recursive walk with a visitor: the array, its view, the count of visits
+	 * 					and whether the visitor asked to stop
+	 */
+	static class Walk {
+		
+		final int[] A;
+		final Visitor visitor;
+		final Arrangement view;
+		long count = 0;
+		boolean stopped = false;
+		
+		Walk(int[] A, Visitor visitor){
+			this.A = A; this.visitor = visitor; this.view = new Arrangement(A);
+		}
+		
+		void visit(int offset, int size){
+			count++;
+			stopped = visitor.visit(view.of(offset, size)) == Visitor.Action.STOP;
+		}
+		
+		boolean accept(int offset, int size){
+			return visitor.acceptPrefix(view.of(offset, size));
+		}
+	}
+	
+	/**
+	 * combination		visit the combinations of k objects from n with ranks from...to-1, in the order of combination
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param v			v is the verbose
+	 * @param from		from is the rank of the first combination visited
+	 * @param to		to is the rank after the last combination visited
+	 * @return count	count is the number of combinations visited
+	 */
+	static long combination(int n, int k, int v, long from, long to){
+		
+		if(from >= to) return 0;
+		
+		// Start at the combination of rank from
+		int [] A = new int [n+1];
+		Rank.unrankCombination(from, n, k, A);
+		
+		long count = 0;
+		do{
+			count = visit(A, n, v, count);
+		} while(count < to - from && nextCombination(A, n));
+		
+		return count;
+	}
+	
+	/**
+	 * nextCombination	step A[1...n] to the combination that combination visits after it. combination chooses
+	 * 					object n before leaving it out, so as a binary number with A[n] as the highest bit, 
+	 * 					A decreases while keeping k ones.
+	 * @param A			A is the array that holds 1 for each chosen object
+	 * @param n			n is the total number of objects
+	 * @return			false if A is the last combination
+	 */
+	static boolean nextCombination(int[] A, int n){
+		
+		// Find the min i with A[i] = 1 and A[i-1] = 0; the b objects chosen below i are 1...b
+		int i = 1, b = 0;
+		while(i <= n && A[i] != 0){
+			b++; i++;
+		}
+		while(i <= n && A[i] == 0){
+			i++;
+		}
+		if(i > n) return false;
+		
+		// Move object i down to i-1, and objects 1...b right below it
+		A[i] = 0;
+		for(int j = 1; j <= b; j++){
+			A[j] = 0;
+		}
+		for(int j = i-1; j >= i-1-b; j--){
+			A[j] = 1;
+		}
+		return true;
+	}
+	
 	/**
 	 * visit  					visit the elements after a new permutation/combination is generated
 	 * @param A					A is the array that contains the data
@@ -169,18 +307,16 @@ public class Distinct {
 		
 	// If verbose mode = 3, print all the possible combinations
 	   if (verbose == 3) {
+			 OutputSink out = OutputSink.out();
 			 for(int i = 1; i <= n; i++) {
-				 if (A[i] != 0) System.out.print(i + " "); // print the chosen elements from 1...n
+				 if (A[i] != 0) out.put(i); // print the chosen elements from 1...n
 			 }
-			 System.out.println();
+			 out.endLine();
 	   }
 	   
 	// If verbose mode = 2, print all the possible permutations
 	   else if (verbose == 2) {
-			 for(int i = 1; i <= n; i++) {
-				 System.out.print(A[i] + " "); // print all elements
-			 }
-			 System.out.println();
+			 OutputSink.out().line(A, 1, n); // print all elements, in one piece so that lines of parallel workers do not interleave
 	   }
 	   
 	 //Otherwise do nothing but increment the count by 1 
@@ -209,22 +345,61 @@ public class Distinct {
 	 * @return count	count is the number of all possible permutations in P(n,k)
 	 */
 	static long permutation(int [] A, int n, int k, int v){
+		return permutation(A, 1, n, k, v, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * permutation		visit the permutations of A[1...n] that keep the prefix A[1...lo-1], starting from the 
+	 * 					order of A and ending when A[lo...n] is in decreasing order, or after limit visits.
+	 * @param A			A is the array that holds the data
+	 * @param lo		lo is the first position that may change, between 1 and n-1
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param v			v is the verbose
+	 * @param limit		limit is the largest number of permutations to visit
+	 * @return count	count is the number of permutations of A[1...k] visited
+	 */
+	static long permutation(int [] A, int lo, int n, int k, int v, long limit){
+		return permutation(A, lo, n, k, v, limit, Checkpoint.NONE);
+	}
+	
+	/**
+	 * permutation		visit the permutations of A[1...n] that keep the prefix A[1...lo-1], as above, saving the
+	 * 					state to checkpoint from time to time. If checkpoint holds the state of an earlier run, 
+	 * 					the walk continues after the permutation saved in it, and the count includes the earlier visits.
+	 * @param checkpoint	checkpoint is the checkpoint of the walk, or Checkpoint.NONE
+	 * @return count	count is the number of permutations of A[1...k] visited, in this run and the earlier ones
+	 */
+	static long permutation(int [] A, int lo, int n, int k, int v, long limit, Checkpoint checkpoint){
 		
 		long count = 0; // Let count be the number of all possible permutations in P(n,k)
 		
 		int current = 0; // Let current be the index where a swapping has just occurred
 		
+		Checkpoint.State state = checkpoint.load();
+		if(state != null){
+			if(state.done) return state.count;
+			System.arraycopy(state.A, 0, A, 0, n+1);
+			count = state.count;
+			current = k+1;	// The saved permutation was visited already
+		}
+		
 		do{
 			// visit A[1...k] ONLY IF a distinct permutation is generated (a swapping occurs within [1...k])
 			if(current <= k){
 				count = visit(A, k, v, count);
+				if(count == limit) return count;
+				if(checkpoint.due(count)) checkpoint.save(A, count);
 			}
 			
 			// Find the max j with A[j] > A[j+1], scanning from right to left
 			int j = n-1; 
 			while(A[j] >= A[j+1]){
-				// If j=1 then break
-				if(j == 1) return count;
+				// If j=lo then break
+				if(j == lo){
+					checkpoint.finish(count);
+					return count;
+				}
 				j--;
 			}
 			
@@ -244,8 +419,184 @@ public class Distinct {
 			
 			current = j; // set current index to j
 			
-		} while(true);	// forever looping until j=1
+		} while(true);	// forever looping until j=lo
+			
+	}
+	
+	/**
+	 * permutation		visit all permutations of k objects from A[1...n] in lexicographic order. The objects may
+	 * 					repeat; each distinct A[1...k] is visited once. When the visitor rejects a prefix A[1...m], 
+	 * 					A[m+1...n] is put in decreasing order, so that the next step changes A[1...m].
+	 * @param A			A is the array that holds the data in A[1...n], in increasing order
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param visitor	visitor is called back for every permutation of A[1...k] and every prefix A[1...m], m < k
+	 * @return count	count is the number of permutations visited
+	 */
+	public static long permutation(int [] A, int n, int k, Visitor visitor){
+		
+		Arrangement view = new Arrangement(A);
+		
+		// If k = 0, visit the empty permutation only
+		if(k == 0){
+			visitor.visit(view.of(1, 0));
+			return 1;
+		}
+		
+		long count = 0;
+		int current = 1; // Let current be the first index of A changed by the last step
+		
+		do{
+			if(current <= k){
+				
+				// Ask the visitor about the new prefixes A[1...m], and skip the ones it rejects
+				int m = current;
+				while(m < k && visitor.acceptPrefix(view.of(1, m))){
+					m++;
+				}
+				
+				// visit A[1...k]; no other arrangement of A[k+1...n] is visited
+				if(m == k){
+					count++;
+					if(visitor.visit(view.of(1, k)) == Visitor.Action.STOP) return count;
+				}
+				
+				// Reverse the increasing A[m+1...n], so that the next step changes A[1...m]
+				for(int left = m+1, right = n; left < right ; left++, right--){
+					swap(A, left, right);
+				}
+			}
+			
+			// Find the max j with A[j] < A[j+1], scanning from right to left
+			int j = n-1; 
+			while(j > 0 && A[j] >= A[j+1]){
+				j--;
+			}
+			if(j == 0) return count;
+			
+			// Find the max l with A[j] < A[l], scanning from right to left
+			int l = n;
+			while(A[j] >= A[l]){
+				l--;
+			}
 			
+			// Exchange A[j] and A[l], and reverse A[j+1...n]
+			swap(A, j, l);
+			for(int left = j+1, right = n; left < right ; left++, right--){
+				swap(A, left, right);
+			}
+			
+			current = j; // set current index to j
+			
+		} while(true);	// forever looping until A[1...n] is decreasing
+	}
+	
+	/**
+	 * permutation		visit the permutations of k objects from n with ranks from...to-1, in the order of permutation
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param v			v is the verbose
+	 * @param from		from is the rank of the first permutation visited
+	 * @param to		to is the rank after the last permutation visited
+	 * @return count	count is the number of permutations visited
+	 */
+	static long permutation(int n, int k, int v, long from, long to){
+		
+		if(from >= to) return 0;
+		
+		// Start at the permutation of rank from, with the objects after A[k] in increasing order
+		int [] A = new int [n+1];
+		Rank.unrankPermutation(from, n, k, A);
+		
+		return permutation(A, 1, n, k, v, to - from);
+	}
+	
+	/**
+	 * parallelPermutation	visit all permutations of k objects from a set of n distinct objects on a work-stealing pool.
+	 * 						The permutations are split by their first d objects, and every prefix runs the 
+	 * 						permutation loop over its own copy of A. With v = 2, the order of the lines is not defined.
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param v			v is the verbose
+	 * @param threads	threads is the number of worker threads
+	 * @param checkpoint	checkpoint is the checkpoint of the run; every prefix saves its state in a file of its own
+	 * @return count	count is the number of all possible permutations in P(n,k)
+	 */
+	static long parallelPermutation(int n, int k, int v, int threads, Checkpoint checkpoint){
+		
+		// Find the smallest prefix length d that gives each thread several prefixes. The prefix must lie 
+		// within A[1...k], so that no permutation is visited twice, and leave at least 2 objects to permute
+		int d = 0;
+		long prefixes = 1;
+		while(d < Math.min(k, n-2) && prefixes < (long) TASKS_PER_THREAD * threads){
+			prefixes *= n - d;
+			d++;
+		}
+		
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			long count = pool.invoke(new PrefixTask(new int[n+1], 0, 0, d, n, k, v, checkpoint));
+			checkpoint.delete((int) prefixes);	// The run is complete
+			return count;
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * PrefixTask		visit the permutations that start with prefix[1...depth], extending the prefix 
+	 * 					to length d in subtasks before running the permutation loop. The prefixes of length d
+	 * 					are numbered by id in lexicographic order, which names their checkpoints.
+	 */
+	static class PrefixTask extends RecursiveTask<Long> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		final int[] prefix;
+		final int id, depth, d, n, k, v;
+		final Checkpoint checkpoint;
+		
+		PrefixTask(int[] prefix, int id, int depth, int d, int n, int k, int v, Checkpoint checkpoint){
+			this.prefix = prefix; this.id = id; this.depth = depth; this.d = d; this.n = n; this.k = k; this.v = v;
+			this.checkpoint = checkpoint;
+		}
+		
+		@Override
+		protected Long compute(){
+			
+			boolean[] used = new boolean[n+1];
+			for(int i = 1; i <= depth; i++){
+				used[prefix[i]] = true;
+			}
+			
+			// The prefix is complete: copy it, followed by the remaining objects in increasing order
+			if(depth == d){
+				int[] A = new int[n+1];
+				A[0] = -1;	// The sentinel
+				System.arraycopy(prefix, 1, A, 1, d);
+				for(int x = 1, i = d+1; x <= n; x++){
+					if(!used[x]) A[i++] = x;
+				}
+				return permutation(A, d+1, n, k, v, Long.MAX_VALUE, checkpoint.worker(id, d));
+			}
+			
+			// Otherwise extend the prefix by every remaining object
+			List<PrefixTask> tasks = new ArrayList<PrefixTask>();
+			for(int x = 1; x <= n; x++){
+				if(!used[x]){
+					int[] next = prefix.clone();
+					next[depth+1] = x;
+					tasks.add(new PrefixTask(next, id * (n-depth) + tasks.size(), depth+1, d, n, k, v, checkpoint));
+				}
+			}
+			invokeAll(tasks);
+			
+			long count = 0;
+			for(PrefixTask task : tasks){
+				count += task.join();
+			}
+			return count;
+		}
 	}
 	
 }	// end of class
@@ -0,0 +1,259 @@
+/**
+ * @(#)EnumerationBenchmark.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.LongSummaryStatistics;
+import java.util.stream.Stream;
+
+/**
+ * The EnumerationBenchmark class times the engines that visit the permutations/combinations
+ * of k objects from n distinct objects: the lexicographic loops of Distinct, with and without
+ * a Visitor, the minimal-change orders, the bit masks, the parallel mode and the streams of
+ * Arrangements. The results are written as a JSON array, in arrangements visited per second,
+ * so that runs can be compared with each other (see MultisetBenchmark for NonDistinct).
+ *
+ * This is a hand-rolled harness, not JMH, as the projects have no build manifest to bring JMH
+ * in. Every measurement is preceded by warm-up iterations, so the JIT has compiled the engine
+ * before it is timed. Nothing is printed: the engines run with v = 0, and the visitors feed
+ * the first object of every arrangement to a Blackhole, whose state ends up in a volatile field.
+ *
+ * It lacks what JMH guarantees. All engines run in one JVM, with no forks, so the profile
+ * gathered for one engine shapes the code compiled for the next, and the spread between JVMs
+ * is not measured. The warm-up is a fixed number of runs, not run until the timings settle.
+ * The Blackhole is plain arithmetic, which the JIT may still partly see through, where JMH's
+ * is built to defeat dead-code elimination. The timings are wall-clock times of whole runs,
+ * with no statistics beyond their spread. Differences of a few percent between engines are
+ * therefore not significant.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class EnumerationBenchmark {
+
+	static final String[] PERMUTATION_ENGINES = {"Distinct.permutation", "Distinct.permutation.visitor",
+			"MinimalChange.permutation", "Distinct.parallelPermutation",
+			"Arrangements.permutations", "Arrangements.permutations.parallel"};
+
+	static final String[] COMBINATION_ENGINES = {"Distinct.combination", "Distinct.combination.visitor",
+			"BitCombination.combination", "MinimalChange.combination",
+			"Arrangements.combinations", "Arrangements.combinations.parallel"};
+
+	// n, k; the lexicographic loop of Distinct steps through all n! orders of A, even when k < n
+	static final int[][] PERMUTATIONS = {{10, 10}, {11, 6}};
+	static final int[][] COMBINATIONS = {{25, 12}, {40, 6}, {100, 3}, {3, 5}};	// n, k; masks of more than 64 bits take words, and k > n has none
+
+	public static final int WARMUP = 3;			// Warm-up iterations per measurement
+	public static final int ITERATIONS = 5;		// Measured iterations per measurement
+
+	static volatile long sink;	// Where the Blackholes end up, so that their state is used
+
+	/**
+	 * Blackhole 		a sink for the objects visited, so that the JIT does not drop the work that produced them (a plain one, not that of JMH)
+	 */
+	public static final class Blackhole {
+
+		private long state = 0;
+
+		public void consume(long x){
+			state = state * 31 + x;
+		}
+	}
+
+	/**
+	 * Engine 			an engine to time, which visits every arrangement once and returns the number of visits
+	 */
+	public interface Engine {
+		long run(Blackhole bh);
+	}
+
+	/**.
+	 * @param args[0]		optional, the number of threads of the parallel engines (default: all processors)
+	 * @param args[1]		optional, the JSON file to write (default stdout)
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+		PrintWriter out = args.length > 1
+				? new PrintWriter(new OutputStreamWriter(new FileOutputStream(args[1]), "UTF-8"))
+				: new PrintWriter(System.out);
+
+		out.println("[");
+		boolean first = true;
+
+		for(int[] c : PERMUTATIONS) {
+			for(String engine : PERMUTATION_ENGINES) {
+				int n = c[0], k = c[1];
+				int t = engine.contains("parallel") ? threads : -1;
+
+				long[] ns = measure(bh -> permutation(engine, n, k, threads, bh), Rank.permutations(n, k));
+
+				if(!first) out.println(",");
+				first = false;
+				writeResult(out, engine, "permutations", "\"n\": " + n + ", \"k\": " + k, t, ns, Rank.permutations(n, k));
+				out.flush();
+			}
+		}
+
+		for(int[] c : COMBINATIONS) {
+			for(String engine : COMBINATION_ENGINES) {
+				int n = c[0], k = c[1];
+				int t = engine.contains("parallel") ? threads : -1;
+
+				long[] ns = measure(bh -> combination(engine, n, k, bh), Rank.combinations(n, k));
+
+				out.println(",");
+				writeResult(out, engine, "combinations", "\"n\": " + n + ", \"k\": " + k, t, ns, Rank.combinations(n, k));
+				out.flush();
+			}
+		}
+
+		out.println();
+		out.println("]");
+		out.flush();
+		if(args.length > 1) out.close();
+	}
+
+	/**
+	 * permutation 		visit the permutations of k objects from n with the engine
+	 * @return			the number of visits
+	 */
+	static long permutation(String engine, int n, int k, int threads, Blackhole bh) {
+
+		int[] A = new int[n+1];
+		for(int i = 1; i <= n; i++) {
+			A[i] = i;
+		}
+		A[0] = -1;	// The sentinel
+
+		switch(engine) {
+			case "Distinct.permutation":
+				return Distinct.permutation(A, n, k, 0);
+			case "Distinct.permutation.visitor":
+				return Distinct.permutation(A, n, k, a -> {
+					bh.consume(a.get(1));
+					return Visitor.Action.CONTINUE;
+				});
+			case "MinimalChange.permutation":
+				return MinimalChange.permutation(n, k, 0);
+			case "Distinct.parallelPermutation":
+				return Distinct.parallelPermutation(n, k, 0, threads, Checkpoint.NONE);
+			case "Arrangements.permutations":
+				return consume(Arrangements.permutations(n, k, false), bh);
+			case "Arrangements.permutations.parallel":
+				return consume(Arrangements.permutations(n, k, true), bh);
+			default:
+				throw new IllegalArgumentException("Unknown engine " + engine);
+		}
+	}
+
+	/**
+	 * combination 		visit the combinations of k objects from n with the engine
+	 * @return			the number of visits
+	 */
+	static long combination(String engine, int n, int k, Blackhole bh) {
+
+		switch(engine) {
+			case "Distinct.combination":
+				Distinct.N = n;		// The recursion visits A[1...N]
+				return Distinct.combination(new int[n+1], n, k, 0);
+			case "Distinct.combination.visitor":
+				return Distinct.combination(n, k, a -> {
+					bh.consume(a.get(1));
+					return Visitor.Action.CONTINUE;
+				});
+			case "BitCombination.combination":
+				if(n <= 64) return BitCombination.combination(n, k, mask -> bh.consume(mask));
+				return BitCombination.wideCombination(n, k, mask -> bh.consume(mask[0]));
+			case "MinimalChange.combination":
+				return MinimalChange.combination(n, k, 0);
+			case "Arrangements.combinations":
+				return consume(Arrangements.combinations(n, k, false), bh);
+			case "Arrangements.combinations.parallel":
+				return consume(Arrangements.combinations(n, k, true), bh);
+			default:
+				throw new IllegalArgumentException("Unknown engine " + engine);
+		}
+	}
+
+	/**
+	 * consume 			feed the first object of every arrangement of the stream to bh
+	 * @return			the number of arrangements
+	 */
+	public static long consume(Stream<int[]> arrangements, Blackhole bh) {
+
+		// The arrays are summed rather than counted, since count() may skip a sized stream
+		LongSummaryStatistics statistics = arrangements.mapToLong(a -> a.length > 0 ? a[0] : 0).summaryStatistics();
+		bh.consume(statistics.getSum());
+		return statistics.getCount();
+	}
+
+	/**
+	 * measure 			Time the engine
+	 * @param visits	visits is the number of arrangements the engine has to visit
+	 * @return			the nanoseconds per run of every measured iteration
+	 */
+	public static long[] measure(Engine engine, long visits) {
+
+		long[] ns = new long[ITERATIONS];
+		Blackhole bh = new Blackhole();
+
+		for(int it = -WARMUP; it < ITERATIONS; it++) {
+
+			long startTime = System.nanoTime();
+			long count = engine.run(bh);
+			long time = System.nanoTime() - startTime;
+
+			if(count != visits) {
+				throw new IllegalStateException("visited " + count + " arrangements instead of " + visits);
+			}
+			if(it >= 0) ns[it] = time;
+		}
+		sink = bh.state;
+		return ns;
+	}
+
+	/**
+	 * writeResult 		Write one measurement as a JSON object
+	 * @param arrangements	arrangements names what was visited
+	 * @param parameters	parameters are the JSON fields that describe the arrangements
+	 * @param threads		threads is the number of worker threads, or -1 for a single thread
+	 */
+	public static void writeResult(PrintWriter out, String engine, String arrangements, String parameters, int threads,
+			long[] ns, long visits) {
+
+		long[] sorted = ns.clone();
+		Arrays.sort(sorted);
+
+		double mean = 0;
+		for(long t : ns) mean += t;
+		mean /= ns.length;
+
+		double variance = 0;
+		for(long t : ns) variance += (t - mean) * (t - mean);
+		double stddev = ns.length > 1 ? Math.sqrt(variance / (ns.length - 1)) : 0;
+
+		out.print("  {\"engine\": \"" + engine + "\"");
+		out.print(", \"arrangements\": \"" + arrangements + "\"");
+		out.print(", " + parameters);
+		out.print(", \"threads\": " + (threads >= 0 ? String.valueOf(threads) : "null"));
+		out.print(", \"visits\": " + visits);
+		out.print(", \"warmupIterations\": " + WARMUP);
+		out.print(", \"iterations\": " + ns.length);
+		out.print(", \"unit\": \"ns/op\"");
+		out.print(", \"mean\": " + Math.round(mean));
+		out.print(", \"stddev\": " + Math.round(stddev));
+		out.print(", \"min\": " + sorted[0]);
+		out.print(", \"median\": " + sorted[sorted.length/2]);
+		out.print(", \"max\": " + sorted[sorted.length-1]);
+		out.print(", \"visitsPerSecond\": " + Math.round(visits * 1e9 / mean));
+		out.print("}");
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * @(#)IntReader.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * The IntReader class reads the ints of the input, separated by spaces and/or newlines, as
+ * Scanner.nextInt does, but byte by byte, without regular expressions or Strings.
+ *
+ * The input is stdin, read in blocks of BLOCK bytes, or the file named by the system property
+ * input, as in -Dinput=constraints.txt, which is mapped into memory when it fits in one map.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public final class IntReader {
+
+	static final int BLOCK = 1<<16;		// The size of a read from the channel
+
+	private final ReadableByteChannel channel;	// null if the whole input is in the buffer
+	private final ByteBuffer buffer;
+
+	IntReader(ReadableByteChannel channel, ByteBuffer buffer){
+		this.channel = channel;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * in 				a reader of the input, as configured by the system property input
+	 */
+	public static IntReader in(){
+
+		String name = System.getProperty("input");
+		try {
+			if(name == null){
+				ByteBuffer buffer = ByteBuffer.allocate(BLOCK);
+				buffer.limit(0);	// Nothing read yet
+				return new IntReader(new FileInputStream(FileDescriptor.in).getChannel(), buffer);
+			}
+
+			FileChannel file = FileChannel.open(Paths.get(name), StandardOpenOption.READ);
+			if(file.size() > Integer.MAX_VALUE){
+				ByteBuffer buffer = ByteBuffer.allocate(BLOCK);
+				buffer.limit(0);
+				return new IntReader(file, buffer);
+			}
+
+			// The mapping stays valid after the channel is closed
+			ByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+			file.close();
+			return new IntReader(null, buffer);
+
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * nextInt 			the next int of the input
+	 * @throws NoSuchElementException	if the input has no more ints
+	 * @throws InputMismatchException	if the next token is not an int
+	 */
+	public int nextInt(){
+
+		// Skip the spaces and newlines
+		int b = read();
+		while(b >= 0 && b <= ' '){
+			b = read();
+		}
+		if(b < 0) throw new NoSuchElementException();
+
+		boolean negative = b == '-';
+		if(negative) b = read();
+
+		long x = 0;
+		int digits = 0;
+		while(b >= '0' && b <= '9'){
+			x = x * 10 + (b - '0');
+			if(x > 1L + Integer.MAX_VALUE) throw new InputMismatchException("int too large");
+			digits++;
+			b = read();
+		}
+
+		// The token has to end at a space, a newline or the end of the input
+		if(digits == 0 || b > ' ') throw new InputMismatchException("not an int");
+		if(negative) x = -x;
+		if(x > Integer.MAX_VALUE) throw new InputMismatchException("int too large");
+		return (int) x;
+	}
+
+	/**
+	 * read 			the next byte of the input, or -1 at its end
+	 */
+	private int read(){
+		if(!buffer.hasRemaining() && !fill()) return -1;
+		return buffer.get() & 0xFF;
+	}
+
+	/**
+	 * fill 			read the next block of the input into the buffer
+	 * @return			false at the end of the input
+	 */
+	private boolean fill(){
+
+		if(channel == null) return false;
+
+		buffer.clear();
+		try {
+			int n;
+			do{
+				n = channel.read(buffer);
+			} while(n == 0);
+			buffer.flip();
+			return n > 0;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * close 			close the input
+	 */
+	public void close(){
+		if(channel == null) return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
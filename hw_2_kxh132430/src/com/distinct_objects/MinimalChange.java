@@ -0,0 +1,198 @@
+/**
+ * @(#)MinimalChange.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+/**
+ * The MinimalChange class visits the permutations/combinations of k objects from a set
+ * of n distinct objects, numbered 1..n, in minimal-change order instead of lexicographic
+ * order: consecutive combinations differ by one object, and consecutive permutations of
+ * the same objects by one swap of adjacent positions.
+ *
+ * Permutations follow the plain changes of Steinhaus, Johnson and Trotter. The position
+ * of every object in its sweep is a digit of a reflected mixed-radix Gray code, and focus
+ * pointers find the digit that changes next without a search (Knuth, Algorithm 7.2.1.1H),
+ * so every permutation takes a constant number of steps.
+ *
+ * Combinations follow the revolving door (Knuth, Algorithm 7.2.1.3R). Most steps move the
+ * smallest object; the others look for the next object to move, which takes a constant
+ * number of steps on average.
+ *
+ * For k < n, the k! plain changes of every combination are visited before the revolving
+ * door replaces one object in place.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+
+public class MinimalChange {
+
+	/**
+	 * permutation		visit all permutations of k objects from a set of n distinct objects in minimal-change order
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param v			v is the verbose
+	 * @return count	count is the number of all possible permutations in P(n,k)
+	 */
+	static long permutation(int n, int k, int v){
+
+		if(k < 0 || k > n) return 0;	// There is no permutation
+
+		int [] A = new int [n+1];		// A[1...k] is the permutation
+		int [] where = new int [n+1];	// where[x] is the position of object x in A, if it is chosen
+		for(int i = 1; i <= k; i++){
+			A[i] = i;
+			where[i] = i;
+		}
+
+		// The plain changes move labels 1...k; P[i] is the label at position i, and Q[e] the position of label e.
+		// Digit j of the Gray code, with radix k-j, is the number of steps label k-j has taken in its sweep
+		int d = Math.max(k-1, 0);
+		int [] P = new int [k+1], Q = new int [k+1];
+		int [] a = new int [d+1], o = new int [d+1], f = new int [d+1];
+
+		RevolvingDoor door = new RevolvingDoor(n, k);
+		long count = 0;
+
+		do{
+			// Label the objects by their current positions, and start the plain changes
+			for(int i = 1; i <= k; i++){
+				P[i] = i; Q[i] = i;
+			}
+			for(int j = 0; j <= d; j++){
+				a[j] = 0; o[j] = 1; f[j] = j;
+			}
+
+			count = Distinct.visit(A, k, v, count);
+
+			while(true){
+
+				// Take the digit j from the focus pointers; when it is d, every permutation of A[1...k] is visited
+				int j = f[0];
+				f[0] = 0;
+				if(j == d) break;
+				a[j] += o[j];
+
+				// Label e moves one position, left while its digit increases, past a smaller label x
+				int e = k-j, p = Q[e], q = p - o[j], x = P[q];
+				P[p] = x; Q[x] = p;
+				P[q] = e; Q[e] = q;
+				Distinct.swap(A, p, q);
+				where[A[p]] = p; where[A[q]] = q;
+
+				// At either end of its sweep, the label turns around, and the focus moves past its digit
+				if(a[j] == 0 || a[j] == k-j-1){
+					o[j] = -o[j];
+					f[j] = f[j+1];
+					f[j+1] = j+1;
+				}
+
+				count = Distinct.visit(A, k, v, count);
+			}
+
+			if(!door.next()) return count;
+
+			// Put the object entering the combination where the leaving one was
+			int i = where[door.removed];
+			A[i] = door.added;
+			where[door.added] = i;
+
+		} while(true);	// forever looping until the last combination
+	}
+
+	/**
+	 * combination		visit all combinations of k objects from a set of n distinct objects in revolving-door order
+	 * @param n			n is the total number of objects
+	 * @param k			k is the number of objects chosen from n
+	 * @param v			v is the verbose
+	 * @return count	count is the number of all possible combinations in C(n,k)
+	 */
+	static long combination(int n, int k, int v){
+
+		if(k < 0 || k > n) return 0;	// There is no combination
+
+		// When an object is selected, A[i] = 1; otherwise A[i] = 0. The first combination is 1...k
+		int [] A = new int [n+1];
+		for(int i = 1; i <= k; i++){
+			A[i] = 1;
+		}
+
+		RevolvingDoor door = new RevolvingDoor(n, k);
+		long count = Distinct.visit(A, n, v, 0);
+
+		while(door.next()){
+			A[door.removed] = 0;
+			A[door.added] = 1;
+			count = Distinct.visit(A, n, v, count);
+		}
+		return count;
+	}
+
+	/**
+	 * RevolvingDoor	step through the combinations of t objects from n, each differing from the one before
+	 * 					by one object. c[1...t] holds the chosen objects less 1, in increasing order, and c[t+1] = n.
+	 */
+	static class RevolvingDoor {
+
+		final int n, t;
+		final int [] c;
+		int removed, added;		// The objects swapped by the last step
+
+		RevolvingDoor(int n, int t){
+			this.n = n; this.t = t;
+			c = new int [t+2];
+			for(int j = 1; j <= t; j++){
+				c[j] = j-1;
+			}
+			c[t+1] = n;
+		}
+
+		/**
+		 * next			step to the next combination, setting removed and added
+		 * @return		false if the combination was the last one
+		 */
+		boolean next(){
+
+			if(t == 0 || t == n) return false;	// There is a single combination
+
+			// Easy case: move the smallest object, up if t is odd and down if t is even
+			if((t & 1) == 1){
+				if(c[1]+1 < c[2]){
+					removed = c[1]+1;
+					added = ++c[1]+1;
+					return true;
+				}
+			} else if(c[1] > 0){
+				removed = c[1]+1;
+				added = --c[1]+1;
+				return true;
+			}
+
+			boolean decrease = (t & 1) == 1;
+			for(int j = 2; j <= t; j++, decrease = !decrease){
+
+				if(decrease){
+					// Here c[j] = c[j-1]+1: try to decrease c[j]
+					if(c[j] >= j){
+						removed = c[j]+1;
+						added = j-1;
+						c[j] = c[j-1];
+						c[j-1] = j-2;
+						return true;
+					}
+				} else {
+					// Here c[j-1] = j-2: try to increase c[j]
+					if(c[j]+1 < c[j+1]){
+						removed = j-1;
+						added = c[j]+2;
+						c[j-1] = c[j];
+						c[j]++;
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+	}
+}
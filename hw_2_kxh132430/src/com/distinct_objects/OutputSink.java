@@ -0,0 +1,228 @@
+/**
+ * @(#)OutputSink.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The OutputSink class prints the arrangements of the verbose modes. Ints are formatted
+ * straight into a byte buffer, without Strings, and the buffer is written to a channel in
+ * blocks of BLOCK bytes.
+ *
+ * The output goes to stdout, or to the file named by the system property output, as in
+ * -Doutput=perms.txt. If the name ends with .gz, the file is compressed with gzip. The file
+ * is emptied when it is opened, unless a run resumed from a Checkpoint: then it is cut to
+ * the length saved in the checkpoint, and the lines of the run continue after it.
+ *
+ * A line written by line() is never mixed with the lines of other threads; put and
+ * endLine are meant for a single thread.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public final class OutputSink {
+
+	static final int BLOCK = 1<<16;		// The size of a write to the channel
+	static final int MAX_INT = 12;		// The longest int, with its sign and the space after it
+
+	private static OutputSink out;		// The sink of the verbose modes, opened on first use
+	private static long start = 0;		// The length the output file is cut to when it is opened
+
+	private final WritableByteChannel channel;
+	private final boolean stdout;		// stdout stays open when the sink is closed
+	private final ByteBuffer buffer = ByteBuffer.allocate(BLOCK);
+	private final byte[] bytes = buffer.array();
+	private int position = 0;
+	private long written;				// The length of the file, up to the buffer
+
+	OutputSink(WritableByteChannel channel, boolean stdout, long written){
+		this.channel = channel;
+		this.stdout = stdout;
+		this.written = written;
+	}
+
+	/**
+	 * out 				the sink of the verbose modes, as configured by the system property output
+	 */
+	public static synchronized OutputSink out(){
+
+		if(out == null){
+			String name = System.getProperty("output");
+			try {
+				out = name == null ? stdout() : open(Paths.get(name), start);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * finish 			close the sink of the verbose modes, if it was opened
+	 */
+	public static synchronized void finish(){
+		if(out != null){
+			out.close();
+			out = null;
+		}
+	}
+
+	/**
+	 * resume 			keep the first length bytes of the output file when it is opened, instead of emptying it
+	 * @throws IllegalStateException	if the sink was opened already
+	 */
+	static synchronized void resume(long length){
+		if(out != null) throw new IllegalStateException("the output is open already");
+		start = length;
+	}
+
+	/**
+	 * sync 			write out what the sink of the verbose modes has buffered, if it was opened
+	 * @return			the length of the output file, or -1 if the output is stdout
+	 */
+	static synchronized long sync(){
+		if(out == null) return System.getProperty("output") == null ? -1 : start;
+		out.flush();
+		return out.stdout ? -1 : out.written;
+	}
+
+	/**
+	 * stdout 			a sink that writes to the standard output
+	 */
+	static OutputSink stdout(){
+		System.out.flush();		// Keep the order of what System.out has printed already
+		return new OutputSink(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), true, 0);
+	}
+
+	/**
+	 * open 			a sink that writes to a new file, compressed with gzip if the name ends with .gz
+	 */
+	static OutputSink open(Path path) throws IOException {
+		return open(path, 0);
+	}
+
+	/**
+	 * open 			a sink that writes to the file after its first length bytes, which are kept;
+	 * 					what follows them is removed. A compressed file can only be written from the start.
+	 */
+	static OutputSink open(Path path, long length) throws IOException {
+
+		if(path.toString().endsWith(".gz")){
+			if(length > 0) throw new IllegalArgumentException("a compressed output cannot be resumed");
+			return new OutputSink(Channels.newChannel(new GZIPOutputStream(Files.newOutputStream(path), BLOCK)), false, 0);
+		}
+		if(length == 0){
+			return new OutputSink(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING), false, 0);
+		}
+
+		// Lines after length were printed after the last checkpoint, and will be printed again
+		FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE);
+		if(file.size() < length){
+			file.close();
+			throw new IllegalArgumentException(path + " is shorter than its checkpoint");
+		}
+		file.truncate(length);
+		file.position(length);
+		return new OutputSink(file, false, length);
+	}
+
+	/**
+	 * put 				write x followed by a space
+	 */
+	public void put(int x){
+
+		if(position > BLOCK - MAX_INT) drain();
+
+		long v = x;
+		if(v < 0){
+			bytes[position++] = '-';
+			v = -v;
+		}
+
+		// Write the digits from the last one, then turn them around
+		int start = position;
+		do{
+			bytes[position++] = (byte) ('0' + v % 10);
+			v /= 10;
+		} while(v != 0);
+		for(int left = start, right = position-1; left < right; left++, right--){
+			byte temp = bytes[left];
+			bytes[left] = bytes[right];
+			bytes[right] = temp;
+		}
+
+		bytes[position++] = ' ';
+	}
+
+	/**
+	 * endLine 			end the line
+	 */
+	public void endLine(){
+		if(position == BLOCK) drain();
+		bytes[position++] = '\n';
+	}
+
+	/**
+	 * line 			write A[p...r] as one line, in one piece even if other threads write lines too
+	 */
+	public synchronized void line(int[] A, int p, int r){
+		for(int i = p; i <= r; i++){
+			put(A[i]);
+		}
+		endLine();
+	}
+
+	/**
+	 * drain 			write the buffer to the channel
+	 */
+	private void drain(){
+
+		buffer.clear().limit(position);
+		try {
+			while(buffer.hasRemaining()){
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		written += position;
+		position = 0;
+	}
+
+	/**
+	 * flush 			write everything that is buffered
+	 */
+	public synchronized void flush(){
+		drain();
+	}
+
+	/**
+	 * close 			write everything that is buffered and close the file, finishing the gzip stream.
+	 * 					stdout is flushed but stays open.
+	 */
+	public synchronized void close(){
+
+		drain();
+		if(stdout) return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,284 @@
+/**
+ * @(#)Rank.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.math.BigInteger;
+
+/**
+ * The Rank class numbers the permutations and combinations of k objects from a set of
+ * n distinct objects, numbered 1..n, in the order Distinct visits them, so that a walk
+ * can start from the r-th one instead of the first.
+ *
+ * A permutation A[1...k] is ranked by its factoradic digits: digit i is the number of
+ * objects less than A[i] that are not in A[1...i-1], and weighs P(n-i, k-i).
+ * A combination, given as A[1...n] with A[i] = 1 when object i is chosen, is ranked by its
+ * combinadic: every object i that is not chosen while k' objects are still to be chosen
+ * from 1...i skips the C(i-1, k'-1) combinations that choose it.
+ *
+ * The long versions require P(n,k) or C(n,k) to fit in a long and throw an
+ * ArithmeticException otherwise; the BigInteger versions work for any n.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+
+public class Rank {
+
+	/**
+	 * permutations		the number of permutations of k objects from n
+	 * @throws ArithmeticException	if P(n,k) does not fit in a long
+	 */
+	static long permutations(int n, int k){
+		long count = 1;
+		for(int i = 0; i < k; i++){
+			count = Math.multiplyExact(count, n - i);
+		}
+		return count;
+	}
+
+	/**
+	 * combinations		the number of combinations of k objects from n
+	 * @throws ArithmeticException	if C(n,k) does not fit in a long
+	 */
+	static long combinations(int n, int k){
+		if(k < 0 || k > n) return 0;
+		k = Math.min(k, n - k);
+
+		// After step t, count = C(n-k+t, t), which is at most C(n,k)
+		long count = 1;
+		for(int t = 1; t <= k; t++){
+			count = multiplyDivide(count, n - k + t, t);
+		}
+		return count;
+	}
+
+	/**
+	 * multiplyDivide	c * x / d, when d divides c * x, without overflowing on the way
+	 * 					unless the result does not fit in a long
+	 */
+	static long multiplyDivide(long c, long x, long d){
+		long g = gcd(c, d);
+		return Math.multiplyExact(c / g, x / (d / g));
+	}
+
+	static long gcd(long a, long b){
+		while(b != 0){
+			long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+	/**
+	 * rankPermutation	the rank of the permutation A[1...k] among the permutations of k objects from n
+	 * @throws ArithmeticException	if P(n,k) does not fit in a long
+	 */
+	static long rankPermutation(int[] A, int n, int k){
+
+		permutations(n, k);	// Make sure that every rank fits
+
+		int[] digit = digits(A, n, k);
+
+		// Horner's rule: the rank of A[1...i] among P(n,i) is the rank of A[1...i-1] times (n-i+1), plus digit i
+		long rank = 0;
+		for(int i = 1; i <= k; i++){
+			rank = rank * (n - i + 1) + digit[i];
+		}
+		return rank;
+	}
+
+	/**
+	 * bigRankPermutation	the rank of the permutation A[1...k] among the permutations of k objects from n
+	 */
+	static BigInteger bigRankPermutation(int[] A, int n, int k){
+
+		int[] digit = digits(A, n, k);
+
+		BigInteger rank = BigInteger.ZERO;
+		for(int i = 1; i <= k; i++){
+			rank = rank.multiply(BigInteger.valueOf(n - i + 1)).add(BigInteger.valueOf(digit[i]));
+		}
+		return rank;
+	}
+
+	/**
+	 * unrankPermutation	set A to the permutation of rank r: A[1...k] holds the permutation and A[k+1...n]
+	 * 						the remaining objects in increasing order, which is where Distinct.permutation visits it.
+	 * 						A[0] is set to the sentinel -1.
+	 * @throws ArithmeticException	if P(n,k) does not fit in a long
+	 */
+	static void unrankPermutation(long r, int n, int k, int[] A){
+
+		if(r < 0 || r >= permutations(n, k)) {
+			throw new IllegalArgumentException("rank " + r + " is not in [0, P(" + n + "," + k + "))");
+		}
+
+		// Split r into its factoradic digits, the last one in base n-k+1
+		int[] digit = new int[k+1];
+		for(int i = k; i >= 1; i--){
+			digit[i] = (int) (r % (n - i + 1));
+			r /= n - i + 1;
+		}
+		place(digit, n, k, A);
+	}
+
+	/**
+	 * unrankPermutation	set A to the permutation of rank r, as the long version does
+	 */
+	static void unrankPermutation(BigInteger r, int n, int k, int[] A){
+
+		if(r.signum() < 0 || r.compareTo(Counting.permutations(n, k)) >= 0) {
+			throw new IllegalArgumentException("rank " + r + " is not in [0, P(" + n + "," + k + "))");
+		}
+
+		int[] digit = new int[k+1];
+		for(int i = k; i >= 1; i--){
+			BigInteger[] qr = r.divideAndRemainder(BigInteger.valueOf(n - i + 1));
+			digit[i] = qr[1].intValue();
+			r = qr[0];
+		}
+		place(digit, n, k, A);
+	}
+
+	/**
+	 * digits			the factoradic digits of A[1...k]: digit[i] is the number of objects less than A[i]
+	 * 					that are not in A[1...i-1]
+	 */
+	static int[] digits(int[] A, int n, int k){
+
+		boolean[] used = new boolean[n+1];
+		int[] digit = new int[k+1];
+
+		for(int i = 1; i <= k; i++){
+			int d = 0;
+			for(int x = 1; x < A[i]; x++){
+				if(!used[x]) d++;
+			}
+			digit[i] = d;
+			used[A[i]] = true;
+		}
+		return digit;
+	}
+
+	/**
+	 * place			set A[i] to the object with digit[i] smaller unused objects for i = 1...k,
+	 * 					followed by the unused objects in increasing order
+	 */
+	static void place(int[] digit, int n, int k, int[] A){
+
+		boolean[] used = new boolean[n+1];
+		A[0] = -1;	// The sentinel
+
+		for(int i = 1; i <= k; i++){
+			int x = 0;
+			for(int d = digit[i]; d >= 0; d--){
+				do x++; while(used[x]);
+			}
+			A[i] = x;
+			used[x] = true;
+		}
+		for(int x = 1, i = k+1; x <= n; x++){
+			if(!used[x]) A[i++] = x;
+		}
+	}
+
+	/**
+	 * rankCombination	the rank of the combination A[1...n] among the combinations of k objects from n
+	 * @throws ArithmeticException	if C(n,k) does not fit in a long
+	 */
+	static long rankCombination(int[] A, int n, int k){
+
+		if(k == 0) return 0;
+
+		// c = C(i-1, k-1), the number of combinations that choose object i when k objects are left to choose from 1...i
+		long rank = 0, c = combinations(n-1, k-1);
+
+		for(int i = n; k > 0; i--){
+			if(A[i] != 0){
+				if(i > 1) c = multiplyDivide(c, k-1, i-1);	// C(i-2, k-2)
+				k--;
+			} else {
+				rank += c;
+				c = multiplyDivide(c, i-k, i-1);			// C(i-2, k-1)
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * bigRankCombination	the rank of the combination A[1...n] among the combinations of k objects from n
+	 */
+	static BigInteger bigRankCombination(int[] A, int n, int k){
+
+		if(k == 0) return BigInteger.ZERO;
+
+		BigInteger rank = BigInteger.ZERO, c = Counting.combinations(n-1, k-1);
+
+		for(int i = n; k > 0; i--){
+			if(A[i] != 0){
+				if(i > 1) c = c.multiply(BigInteger.valueOf(k-1)).divide(BigInteger.valueOf(i-1));
+				k--;
+			} else {
+				rank = rank.add(c);
+				c = c.multiply(BigInteger.valueOf(i-k)).divide(BigInteger.valueOf(i-1));
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * unrankCombination	set A[1...n] to the combination of rank r, with A[i] = 1 when object i is chosen
+	 * @throws ArithmeticException	if C(n,k) does not fit in a long
+	 */
+	static void unrankCombination(long r, int n, int k, int[] A){
+
+		if(r < 0 || r >= combinations(n, k)) {
+			throw new IllegalArgumentException("rank " + r + " is not in [0, C(" + n + "," + k + "))");
+		}
+
+		long c = k > 0 ? combinations(n-1, k-1) : 0;
+
+		for(int i = n; i >= 1; i--){
+			if(k > 0 && r < c){	// Choose object i
+				A[i] = 1;
+				if(i > 1) c = multiplyDivide(c, k-1, i-1);
+				k--;
+			} else {
+				A[i] = 0;
+				if(k > 0){
+					r -= c;
+					c = multiplyDivide(c, i-k, i-1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * unrankCombination	set A[1...n] to the combination of rank r, as the long version does
+	 */
+	static void unrankCombination(BigInteger r, int n, int k, int[] A){
+
+		if(r.signum() < 0 || r.compareTo(Counting.combinations(n, k)) >= 0) {
+			throw new IllegalArgumentException("rank " + r + " is not in [0, C(" + n + "," + k + "))");
+		}
+
+		BigInteger c = k > 0 ? Counting.combinations(n-1, k-1) : BigInteger.ZERO;
+
+		for(int i = n; i >= 1; i--){
+			if(k > 0 && r.compareTo(c) < 0){
+				A[i] = 1;
+				if(i > 1) c = c.multiply(BigInteger.valueOf(k-1)).divide(BigInteger.valueOf(i-1));
+				k--;
+			} else {
+				A[i] = 0;
+				if(k > 0){
+					r = r.subtract(c);
+					c = c.multiply(BigInteger.valueOf(i-k)).divide(BigInteger.valueOf(i-1));
+				}
+			}
+		}
+	}
+}
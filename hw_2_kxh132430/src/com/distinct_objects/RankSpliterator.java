@@ -0,0 +1,132 @@
+/**
+ * @(#)RankSpliterator.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The RankSpliterator class walks the arrangements with ranks from...to-1 of an
+ * enumeration, so that they can be consumed by a Java stream.
+ *
+ * The walk is lazy: the first arrangement is found by unranking, and every following one
+ * by a step of the engine, keeping a single array of n+1 ints. trySplit hands the first
+ * half of the remaining ranks to a new spliterator, which unranks its own start, so a
+ * parallel stream divides the work evenly without generating anything twice.
+ *
+ * Every arrangement is passed as an int[] of its objects, the first one at index 0. By
+ * default it is a new array; a spliterator that reuses its buffer passes the same array
+ * every time, and the consumer must copy what it keeps.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public abstract class RankSpliterator implements Spliterator<int[]> {
+
+	protected final int n;			// The number of objects
+	protected final int size;		// The number of objects in an arrangement
+	private final boolean reuse;	// Whether buffer is passed instead of a new array
+
+	private long from;				// The rank of the next arrangement
+	private final long to;			// The rank after the last arrangement
+	private int[] A;				// The state of the engine, or null until the first arrangement is unranked
+	private final int[] buffer;
+
+	protected RankSpliterator(int n, int size, long from, long to, boolean reuse){
+		this.n = n; this.size = size; this.from = from; this.to = to; this.reuse = reuse;
+		this.buffer = reuse ? new int[size] : null;
+	}
+
+	/**
+	 * unrank 			set A to the state of the engine at the arrangement of rank r
+	 */
+	protected abstract void unrank(long r, int[] A);
+
+	/**
+	 * step 			step A to the next arrangement
+	 */
+	protected abstract void step(int[] A);
+
+	/**
+	 * read 			copy the arrangement in A to out[0...size-1]
+	 */
+	protected abstract void read(int[] A, int[] out);
+
+	/**
+	 * split 			a spliterator of the same kind over ranks from...to-1
+	 */
+	protected abstract RankSpliterator split(long from, long to, boolean reuse);
+
+	@Override
+	public boolean tryAdvance(Consumer<? super int[]> action){
+
+		if(from >= to) return false;
+
+		if(A == null){
+			A = new int[n+1];
+			unrank(from, A);
+		} else {
+			step(A);
+		}
+		from++;
+
+		int[] out = reuse ? buffer : new int[size];
+		read(A, out);
+		action.accept(out);
+		return true;
+	}
+
+	@Override
+	public Spliterator<int[]> trySplit(){
+
+		if(to - from < 2) return null;
+
+		// Give away from...mid-1, and start again from the arrangement of rank mid
+		long mid = from + ((to - from) >>> 1);
+		RankSpliterator prefix = split(from, mid, reuse);
+		from = mid;
+		A = null;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize(){
+		return to - from;
+	}
+
+	@Override
+	public int characteristics(){
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+
+	/**
+	 * nextPermutation 	step A[1...k] to the next permutation of k objects from A[1...n] in lexicographic order,
+	 * 					where A[k+1...n] is increasing. The objects may repeat.
+	 */
+	protected static void nextPermutation(int[] A, int n, int k){
+
+		// Reverse A[k+1...n], so that the step changes A[1...k]
+		for(int left = k+1, right = n; left < right ; left++, right--){
+			Distinct.swap(A, left, right);
+		}
+
+		// Find the max j with A[j] < A[j+1], and the max l with A[j] < A[l], scanning from right to left
+		int j = n-1;
+		while(j > 0 && A[j] >= A[j+1]){
+			j--;
+		}
+		if(j == 0) return;	// A was the last permutation
+		int l = n;
+		while(A[j] >= A[l]){
+			l--;
+		}
+
+		// Exchange A[j] and A[l], and reverse A[j+1...n]
+		Distinct.swap(A, j, l);
+		for(int left = j+1, right = n; left < right ; left++, right--){
+			Distinct.swap(A, left, right);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+/**
+ * @(#)Visitor.java        1.0 	10/18/2026
+ */
+
+package com.distinct_objects;
+
+/**
+ * The Visitor interface is called back by the enumeration engines for every arrangement
+ * they generate, in place of printing or counting it.
+ *
+ * Before extending a partial arrangement, an engine asks acceptPrefix whether any
+ * arrangement starting with it is wanted; if not, the whole subtree below the prefix is
+ * skipped without being generated.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public interface Visitor {
+
+	/**
+	 * Action 			what the engine does after a visit
+	 */
+	enum Action { CONTINUE, STOP }
+
+	/**
+	 * visit 			visit a complete arrangement
+	 * @param A			A is a read-only view of the arrangement, valid until visit returns
+	 * @return			STOP to end the enumeration
+	 */
+	Action visit(Arrangement A);
+
+	/**
+	 * acceptPrefix 	decide whether to generate the arrangements that start with a partial one
+	 * @param prefix	prefix is a read-only view of the partial arrangement, valid until acceptPrefix returns
+	 * @return			false to skip every arrangement that starts with prefix
+	 */
+	default boolean acceptPrefix(Arrangement prefix){
+		return true;
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * @(#)CoolLex.java        1.0 	10/18/2026
+ */
+package com.non_distinct_objects;
+
+import java.util.Arrays;
+
+/**
+ * The CoolLex class visits all permutations of n (not necessarily distinct) objects
+ * in cool-lex order, where every permutation is made from the one before by moving
+ * one object to the front (a prefix shift).
+ *
+ * The objects are kept in a linked list, so a prefix shift relinks one node, and two
+ * pointers into the list find the next shift without a search (Williams, Loopless
+ * generation of multiset permutations by prefix shifts). Every permutation takes a
+ * constant number of steps, apart from printing it.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class CoolLex {
+
+	/**
+	 * permutation		visit all permutations of a set of n non-distinct objects in cool-lex order.
+	 * @param A			A is the array that holds the data in A[1...n]
+	 * @param n			n is the total number of objects
+	 * @param v			v is the verbose
+	 * @return count	count is the number of all possible permutations
+	 */
+	static long permutation(int [] A, int n, int v){
+
+		// Node x holds value[x] and links to next[x]; the list starts in non-increasing order
+		int [] value = Arrays.copyOfRange(A, 1, n+1);
+		Arrays.sort(value);
+		for(int left = 0, right = n-1; left < right; left++, right--){
+			int temp = value[left];
+			value[left] = value[right];
+			value[right] = temp;
+		}
+
+		int [] next = new int [n];
+		for(int x = 0; x < n; x++){
+			next[x] = x+1;
+		}
+		next[n-1] = -1;	// The end of the list
+
+		int [] B = new int [n+1];	// The permutation as an array, for printing
+		long count = visit(value, next, 0, B, n, v, 0);
+
+		if(n < 2) return count;
+
+		// h is the head of the list, i the penultimate node and j the node after i
+		int h = 0, i = n-2, j = n-1;
+
+		while(next[j] != -1 || value[j] < value[h]){
+
+			// Choose the node s after which the shifted node t is found
+			int s = (next[j] != -1 && value[i] >= value[next[j]]) ? j : i;
+
+			// Move t to the front
+			int t = next[s];
+			next[s] = next[t];
+			next[t] = h;
+
+			if(value[t] < value[h]) i = t;
+			j = next[i];
+			h = t;
+
+			count = visit(value, next, h, B, n, v, count);
+		}
+		return count;
+	}
+
+	/**
+	 * visit  					visit the permutation in the list starting at node h
+	 * @param B					B is the array that the permutation is copied to when it is printed
+	 * @param verbose			verbose is the output mode
+	 * @return count			count is the accumulative number of visits
+	 */
+	static long visit(int [] value, int [] next, int h, int [] B, int n, int verbose, long count){
+
+		if(verbose == 0) return ++count;
+
+		for(int x = h, i = 1; x != -1; x = next[x], i++){
+			B[i] = value[x];
+		}
+		return NonDistinct.visit(B, n, verbose, count);
+	}
+
+}	// end of class
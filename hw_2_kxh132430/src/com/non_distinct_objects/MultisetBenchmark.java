@@ -0,0 +1,126 @@
+/**
+ * @(#)MultisetBenchmark.java        1.0 	10/18/2026
+ */
+
+package com.non_distinct_objects;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import com.distinct_objects.Checkpoint;
+import com.distinct_objects.Counting;
+import com.distinct_objects.EnumerationBenchmark;
+import com.distinct_objects.EnumerationBenchmark.Blackhole;
+import com.distinct_objects.Visitor;
+
+/**
+ * The MultisetBenchmark class times the engines of NonDistinct, which visit the permutations
+ * of n objects that may repeat, over patterns of multiplicities: the lexicographic loop, with
+ * and without a Visitor, the cool-lex order, the parallel mode and the stream. The results are
+ * written as a JSON array in the format of EnumerationBenchmark, whose warm-up and blackhole
+ * they share, and so the limits of its hand-rolled harness, which is not JMH.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class MultisetBenchmark {
+
+	static final String[] ENGINES = {"NonDistinct.permutation", "NonDistinct.permutation.visitor",
+			"CoolLex.permutation", "NonDistinct.parallelPermutation",
+			"NonDistinct.permutations", "NonDistinct.permutations.parallel"};
+
+	// The multiplicities of the objects: all distinct, pairs, a few values many times, two values
+	static final String[] PATTERNS = {"distinct", "pairs", "few-unique", "binary"};
+	static final int[][] MULTIPLICITIES = {
+			{1, 1, 1, 1, 1, 1, 1, 1, 1, 1},		// 10! = 3628800
+			{2, 2, 2, 2, 2, 2},					// 12!/2^6 = 7484400
+			{5, 5, 5},							// 15!/5!^3 = 756756
+			{10, 10}};							// 20!/10!^2 = 184756
+
+	/**.
+	 * @param args[0]		optional, the number of threads of the parallel engines (default: all processors)
+	 * @param args[1]		optional, the JSON file to write (default stdout)
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+		PrintWriter out = args.length > 1
+				? new PrintWriter(new OutputStreamWriter(new FileOutputStream(args[1]), "UTF-8"))
+				: new PrintWriter(System.out);
+
+		out.println("[");
+		boolean first = true;
+
+		for(int p = 0; p < PATTERNS.length; p++) {
+
+			int[] source = generate(MULTIPLICITIES[p]);
+			int n = source.length - 1;
+			long visits = Counting.multinomial(MULTIPLICITIES[p]).longValueExact();
+
+			for(String engine : ENGINES) {
+				int t = engine.contains("parallel") ? threads : -1;
+
+				long[] ns = EnumerationBenchmark.measure(bh -> permutation(engine, source.clone(), n, threads, bh), visits);
+
+				if(!first) out.println(",");
+				first = false;
+				EnumerationBenchmark.writeResult(out, engine, "multiset permutations",
+						"\"n\": " + n + ", \"pattern\": \"" + PATTERNS[p] + "\"", t, ns, visits);
+				out.flush();
+			}
+		}
+
+		out.println();
+		out.println("]");
+		out.flush();
+		if(args.length > 1) out.close();
+	}
+
+	/**
+	 * generate 		the objects 1, 2, ... with the given multiplicities, in A[1...n] with the sentinel A[0]
+	 */
+	static int[] generate(int[] multiplicities) {
+
+		int n = 0;
+		for(int m : multiplicities) n += m;
+
+		int[] A = new int[n+1];
+		A[0] = -1;
+		for(int x = 1, i = 1; x <= multiplicities.length; x++) {
+			for(int c = 0; c < multiplicities[x-1]; c++) {
+				A[i++] = x;
+			}
+		}
+		return A;
+	}
+
+	/**
+	 * permutation 		visit the permutations of A[1...n] with the engine
+	 * @return			the number of visits
+	 */
+	static long permutation(String engine, int[] A, int n, int threads, Blackhole bh) {
+
+		switch(engine) {
+			case "NonDistinct.permutation":
+				return NonDistinct.permutation(A, n, 0);
+			case "NonDistinct.permutation.visitor":
+				return NonDistinct.permutation(A, n, a -> {
+					bh.consume(a.get(1));
+					return Visitor.Action.CONTINUE;
+				});
+			case "CoolLex.permutation":
+				return CoolLex.permutation(A, n, 0);
+			case "NonDistinct.parallelPermutation":
+				return NonDistinct.parallelPermutation(A, n, 0, threads, Checkpoint.NONE);
+			case "NonDistinct.permutations":
+				return EnumerationBenchmark.consume(NonDistinct.permutations(A, n, false), bh);
+			case "NonDistinct.permutations.parallel":
+				return EnumerationBenchmark.consume(NonDistinct.permutations(A, n, true), bh);
+			default:
+				throw new IllegalArgumentException("Unknown engine " + engine);
+		}
+	}
+}
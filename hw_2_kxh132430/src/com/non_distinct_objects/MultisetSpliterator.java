@@ -0,0 +1,102 @@
+/**
+ * @(#)MultisetSpliterator.java        1.0 	10/18/2026
+ */
+package com.non_distinct_objects;
+
+import java.util.Arrays;
+
+import com.distinct_objects.Counting;
+import com.distinct_objects.RankSpliterator;
+
+/**
+ * The MultisetSpliterator class walks the permutations of n (not necessarily distinct)
+ * objects in lexicographic order, the order of NonDistinct.permutation, for a Java stream.
+ *
+ * A permutation of rank r is found one position at a time: when m objects are left, of
+ * which c are equal to x, c/m of the M permutations of the objects left start with x, so
+ * the counts need no factorials. The number of permutations has to fit in a long.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class MultisetSpliterator extends RankSpliterator {
+
+	final int[] value;		// The distinct objects in increasing order
+	final int[] count;		// count[d] is the number of objects equal to value[d]
+
+	MultisetSpliterator(int[] value, int[] count, int n, long from, long to, boolean reuse){
+		super(n, n, from, to, reuse);
+		this.value = value; this.count = count;
+	}
+
+	/**
+	 * of 				the permutations of the objects in A[1...n]
+	 * @param reuse		whether to pass the same array for every permutation
+	 * @throws ArithmeticException	if the number of permutations does not fit in a long
+	 */
+	public static MultisetSpliterator of(int[] A, int n, boolean reuse){
+
+		int[] B = Arrays.copyOfRange(A, 1, n+1);
+		Arrays.sort(B);
+
+		int[] count = NonDistinct.multiplicities(A, n);
+		int[] value = new int[count.length];
+		for(int d = 0, i = 0; d < count.length; i += count[d++]){
+			value[d] = B[i];
+		}
+
+		long total = Counting.multinomial(count).longValueExact();
+		return new MultisetSpliterator(value, count, n, 0, total, reuse);
+	}
+
+	@Override
+	protected void unrank(long r, int[] A){
+
+		int[] left = count.clone();
+		long M = Counting.multinomial(count).longValueExact();	// The permutations of the objects left
+
+		for(int i = 1, m = n; i <= n; i++, m--){
+			for(int d = 0; d < value.length; d++){
+				if(left[d] == 0) continue;
+
+				// The permutations of the objects left that start with value[d]
+				long Md = multiplyDivide(M, left[d], m);
+				if(r < Md){
+					A[i] = value[d];
+					left[d]--;
+					M = Md;
+					break;
+				}
+				r -= Md;
+			}
+		}
+	}
+
+	/**
+	 * multiplyDivide	M * c / m, when m divides M * c, without overflowing on the way
+	 */
+	static long multiplyDivide(long M, long c, long m){
+		long g = M, b = m;
+		while(b != 0){
+			long t = g % b;
+			g = b;
+			b = t;
+		}
+		return (M / g) * (c / (m / g));
+	}
+
+	@Override
+	protected void step(int[] A){
+		nextPermutation(A, n, n);
+	}
+
+	@Override
+	protected void read(int[] A, int[] out){
+		System.arraycopy(A, 1, out, 0, n);
+	}
+
+	@Override
+	protected RankSpliterator split(long from, long to, boolean reuse){
+		return new MultisetSpliterator(value, count, n, from, to, reuse);
+	}
+}
@@ -3,8 +3,22 @@
  */
 package com.non_distinct_objects;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Scanner;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.distinct_objects.Checkpoint;
+import com.distinct_objects.Counting;
+import com.distinct_objects.Distinct;
+import com.distinct_objects.IntReader;
+import com.distinct_objects.OutputSink;
+import com.distinct_objects.Visitor;
 
 /**
  * The NonDistinct class visits all permutations of n (not necessarily
@@ -16,15 +30,28 @@ import java.util.Scanner;
  */
 public class NonDistinct {
 
+	static final int TASKS_PER_THREAD = 4;	// Prefixes per worker thread in the parallel mode, so that the load evens out
+
 	/**.
 	 * @param args[0]		n is the total number of objects
 	 * @param args[1]		v is the verbose
+	 * @param args[2]		t is the number of threads (optional); if given, permutations are visited in parallel with v = 1
+	 * 						With -Dorder=gray, v = 1 visits in cool-lex order (see CoolLex) instead of lexicographic order.
+	 * 						With -Dcheckpoint=path, v = 1 in lexicographic order saves its state from time to time, and
+	 * 						a later run with the same input resumes from it (see Checkpoint). It cannot be combined
+	 * 						with -Dorder=gray.
+	 * 						With -Dinput=path, the integers are read from the file instead of stdin (see IntReader).
 	 * @return
 	 */
 	public static void main(String[] args) {
 		// TODO Auto-generated method stub
 		 int n = Integer.parseInt(args[0]);	//n is between 3 and 1000; 
 	     int v = Integer.parseInt(args[1]);	//v is in {0,1}.
+	     int t = args.length > 2 ? Integer.parseInt(args[2]) : 0;	//t is 0 for the sequential mode
+	     boolean gray = "gray".equals(System.getProperty("order", "lex"));	// The order of visits
+	     if(gray && System.getProperty("checkpoint") != null){
+	    	 throw new IllegalArgumentException("-Dcheckpoint is not supported with -Dorder=gray");	// Only the lexicographic order resumes
+	     }
 	     
 	     int [] A = new int [n+1];	// 	The array that holds the data
 	     A[0] = -1;	// Introduce a sentinel A[0], which is strictly less than the largest element in A[1...n].
@@ -33,14 +60,14 @@ public class NonDistinct {
 	     
 	     // Get the next n integers from the input (separated by spaces and/or newlines)
 	     
-	     Scanner in = new Scanner(System.in);	//Create a Scanner to get input from keyboard
+	     IntReader in = IntReader.in();	//Create an IntReader to get input from keyboard, or from the file of -Dinput=path
 	     
 	     for(int i = 1; i <= n; i++){
 	   	    	 A[i] = in.nextInt();
 	   	 }
 	     
 	     try {
-			in.close();		// Close the Scanner
+			in.close();		// Close the IntReader
 	     } catch (Exception e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
@@ -51,11 +78,25 @@ public class NonDistinct {
 	    
 	    long startTime = 0, endTime = 0;	// The start and end time of running the algorithm
 	    
-	    long sum = 0;  // The total counts of all possible permutations
+	    BigInteger sum;  // The total counts of all possible permutations
 	    
-	    //visit P(n, n) and get the number of all possible permutations
 	    startTime = System.currentTimeMillis();
-	    sum = permutation(A, n, v);
+	    if(v == 0){
+	    	// Nothing is printed, so count the permutations n!/(m1!m2!...) from the multiplicities of the objects
+	    	sum = Counting.multinomial(multiplicities(A, n));
+	    } else {
+	    	//visit P(n, n) and get the number of all possible permutations
+	    	if(gray) sum = BigInteger.valueOf(CoolLex.permutation(A, n, v));
+	    	else {
+	    		// The checkpoint belongs to the objects, in increasing order
+	    		int[] objects = Arrays.copyOfRange(A, 1, n+1);
+	    		Arrays.sort(objects);
+	    		Checkpoint checkpoint = Checkpoint.open("nondistinct.permutation", objects);
+	    		sum = BigInteger.valueOf(t > 0 ? parallelPermutation(A, n, v, t, checkpoint) : permutation(A, n, v, checkpoint));
+	    		checkpoint.delete(0);	// The run is complete
+	    	}
+	    }
+	    OutputSink.finish();	// Write out what is still buffered
 	    endTime = System.currentTimeMillis();
 	   
 	    // Print the total counts of all possible permutations and the time taken by the program in milliseconds.
@@ -74,15 +115,58 @@ public class NonDistinct {
 			
 		// If verbose mode > 0, print all the possible permutations
 		   if (verbose > 0) {
-				 for(int i = 1; i <= n; i++) {
-					 System.out.print(A[i] + " "); // print all elements
-				 }
-				 System.out.println();
+				 OutputSink.out().line(A, 1, n); // print all elements
 		   }
 		//Otherwise do nothing but increment the count by 1 
 		   return ++count;
 		}
 		
+		/**
+		 * permutation		visit all permutations of a set of n non-distinct objects in lexicographic order,
+		 * 					skipping the ones that start with a prefix the visitor rejects.
+		 * @param A			A is the array that holds the data in A[1...n]
+		 * @param n			n is the total number of objects
+		 * @param visitor	visitor is called back for every permutation and every prefix
+		 * @return count	count is the number of permutations visited
+		 */
+		public static long permutation(int [] A, int n, Visitor visitor){
+			
+			Arrays.sort(A, 1, n+1); // Sort the array in lexical order
+			
+			return Distinct.permutation(A, n, n, visitor);
+		}
+		
+		/**
+		 * permutations		a stream of the permutations of the objects in A[1...n] in lexicographic order,
+		 * 					each in a new array
+		 * @param A			A is the array that holds the data in A[1...n]
+		 * @param n			n is the total number of objects
+		 * @param parallel	parallel is whether the stream is parallel
+		 */
+		public static Stream<int[]> permutations(int [] A, int n, boolean parallel){
+			return StreamSupport.stream(MultisetSpliterator.of(A, n, false), parallel);
+		}
+		
+		/**
+		 * multiplicities	count how many times each distinct object occurs in A[1...n]
+		 * @param A			A is the array that contains the data
+		 * @param n			n is the total number of objects
+		 * @return			the multiplicities of the distinct objects
+		 */
+		static int[] multiplicities(int A[], int n){
+			
+			int[] B = Arrays.copyOfRange(A, 1, n+1);
+			Arrays.sort(B);
+			
+			int[] counts = new int[n];
+			int d = 0;
+			for(int i = 0; i < n; i++){
+				if(i == 0 || B[i] != B[i-1]) d++;	// A new distinct object
+				counts[d-1]++;
+			}
+			return Arrays.copyOf(counts, d);
+		}
+		
 		/**
 		 * swap 		swap the value of two elements A[i] and A[j]
 		 * @param A		A is the array that contains the data		
@@ -104,18 +188,57 @@ public class NonDistinct {
 		 * @return count	count is the number of all possible permutations in P(n,n)
 		 */
 		static long permutation(int [] A, int n, int v){
+			return permutation(A, n, v, Checkpoint.NONE);
+		}
+		
+		/**
+		 * permutation		visit all permutations of a set of n non-distinct objects, saving the state to checkpoint
+		 * 					from time to time. If checkpoint holds the state of an earlier run, the walk continues 
+		 * 					after the permutation saved in it, and the count includes the earlier visits.
+		 * @param checkpoint	checkpoint is the checkpoint of the walk, or Checkpoint.NONE
+		 * @return count	count is the number of all possible permutations in P(n,n)
+		 */
+		static long permutation(int [] A, int n, int v, Checkpoint checkpoint){
+			
+			Arrays.sort(A); // Sort the array in lexical order
+			
+			return permutation(A, 1, n, v, checkpoint);
+		}
+		
+		/**
+		 * permutation		visit the permutations of A[1...n] that keep the prefix A[1...lo-1], starting from the 
+		 * 					order of A and ending when A[lo...n] is in decreasing order
+		 * @param lo		lo is the first position that may change, between 1 and n-1
+		 * @param checkpoint	checkpoint is the checkpoint of the walk, or Checkpoint.NONE
+		 * @return count	count is the number of permutations visited
+		 */
+		static long permutation(int [] A, int lo, int n, int v, Checkpoint checkpoint){
 			
 			long count = 0; // Let count be the number of all possible permutations in P(n,k)
 			
-			Arrays.sort(A); // Sort the array in lexical order
+			boolean visited = false;	// Whether A was visited before the checkpoint
+			Checkpoint.State state = checkpoint.load();
+			if(state != null){
+				if(state.done) return state.count;
+				System.arraycopy(state.A, 0, A, 0, n+1);
+				count = state.count;
+				visited = true;
+			}
 			
 			do{
-				count = visit(A, n, v, count); // visit A[1...n]
+				if(!visited){
+					count = visit(A, n, v, count); // visit A[1...n]
+					if(checkpoint.due(count)) checkpoint.save(A, count);
+				}
+				visited = false;
 				
 				// Find the max j with A[j] > A[j+1], scanning from right to left
 				int j = n-1; 
 				while(A[j] >= A[j+1]){
-					if(j == 1) return count;	// If j=1 then break
+					if(j == lo){	// If j=lo then break
+						checkpoint.finish(count);
+						return count;
+					}
 					j--;
 				}
 				
@@ -133,8 +256,111 @@ public class NonDistinct {
 					swap(A, left, right);
 				}
 				
-			} while(true);	// forever looping until j=1
+			} while(true);	// forever looping until j=lo
 				
 		}
 		
+		/**
+		 * parallelPermutation	visit all permutations of a set of n non-distinct objects on a pool of worker threads.
+		 * 						The permutations are split by the objects in their first position, or their first two
+		 * 						positions if that gives too few prefixes, and every prefix runs the permutation loop
+		 * 						over its own copy of A. The prefixes with the most permutations start first, so that 
+		 * 						no long one is left for the end. With v = 1, the order of the lines is not defined.
+		 * @param A			A is the array that holds the data
+		 * @param n			n is the total number of objects
+		 * @param v			v is the verbose
+		 * @param threads	threads is the number of worker threads
+		 * @param checkpoint	checkpoint is the checkpoint of the run; every prefix saves its state in a file of its own
+		 * @return count	count is the number of all possible permutations in P(n,n)
+		 */
+		static long parallelPermutation(int [] A, int n, int v, int threads, Checkpoint checkpoint){
+			
+			Arrays.sort(A, 1, n+1); // Sort the array in lexical order
+			
+			// The permutation loop needs at least 2 objects after the prefix
+			if(n < 3) return permutation(A, 1, n, v, checkpoint);
+			
+			int[] count = multiplicities(A, n);
+			int[] value = new int[count.length];
+			for(int d = 0, i = 1; d < count.length; i += count[d++]){
+				value[d] = A[i];
+			}
+			
+			int depth = count.length < TASKS_PER_THREAD * threads && n >= 4 ? 2 : 1;
+			
+			// Make a prefix of every distinct object, followed by every distinct object left if depth = 2
+			List<PrefixTask> tasks = new ArrayList<PrefixTask>();
+			int[] prefix = new int[depth+1];
+			for(int x = 0; x < value.length; x++){
+				prefix[1] = value[x];
+				count[x]--;
+				if(depth == 1){
+					tasks.add(new PrefixTask(A[0], prefix, value, count, n, v, checkpoint.worker(tasks.size(), depth)));
+				} else {
+					for(int y = 0; y < value.length; y++){
+						if(count[y] == 0) continue;
+						prefix[2] = value[y];
+						count[y]--;
+						tasks.add(new PrefixTask(A[0], prefix, value, count, n, v, checkpoint.worker(tasks.size(), depth)));
+						count[y]++;
+					}
+				}
+				count[x]++;
+			}
+			
+			int prefixes = tasks.size();
+			
+			// Start the prefixes with the most permutations first
+			Collections.sort(tasks, (a, b) -> b.weight.compareTo(a.weight));
+			
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				for(PrefixTask task : tasks){
+					pool.execute(task);
+				}
+				long sum = 0;
+				for(PrefixTask task : tasks){
+					sum += task.join();
+				}
+				checkpoint.delete(prefixes);	// The run is complete
+				return sum;
+			} finally {
+				pool.shutdown();
+			}
+		}
+		
+		/**
+		 * PrefixTask		visit the permutations that start with a prefix of one or two objects, followed by 
+		 * 					the objects left, in increasing order at first
+		 */
+		static class PrefixTask extends RecursiveTask<Long> {
+			
+			private static final long serialVersionUID = 1L;
+			
+			final int[] A;
+			final int lo, n, v;
+			final Checkpoint checkpoint;
+			final BigInteger weight;	// The number of permutations of the objects left
+			
+			PrefixTask(int sentinel, int[] prefix, int[] value, int[] count, int n, int v, Checkpoint checkpoint){
+				
+				this.lo = prefix.length; this.n = n; this.v = v; this.checkpoint = checkpoint;
+				this.weight = Counting.multinomial(count);
+				
+				A = new int[n+1];
+				A[0] = sentinel;
+				System.arraycopy(prefix, 1, A, 1, lo-1);
+				for(int d = 0, i = lo; d < value.length; d++){
+					for(int c = 0; c < count[d]; c++){
+						A[i++] = value[d];
+					}
+				}
+			}
+			
+			@Override
+			protected Long compute(){
+				return permutation(A, lo, n, v, checkpoint);
+			}
+		}
+		
 	}	// end of class
@@ -0,0 +1,206 @@
+/**
+ * @(#)PrecedenceBenchmark.java        1.0 	10/18/2026
+ */
+
+package com.permutation_with_constraints;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The PrecedenceBenchmark class times kxh132430_PrecedenceConstraint.permutate, with and without
+ * a Visitor, over constraint densities: the fraction of the n(n-1)/2 pairs of objects that are
+ * constrained, drawn from a random order so that some permutation satisfies them all. The
+ * results are written as a JSON array, in permutations visited per second, so that runs can
+ * be compared with each other.
+ *
+ * The harness is written by hand rather than with JMH, since the project has no build manifest.
+ * Every measurement is preceded by warm-up iterations, so the JIT has compiled the engine
+ * before it is timed. Nothing is printed: the engine runs with v = 0, and the visitor feeds
+ * the first object of every permutation to a Blackhole, whose state ends up in a volatile field.
+ *
+ * None of the safeguards of JMH apply: every density runs in the same JVM, without forks;
+ * the warm-up is a fixed count of runs rather than a wait for steady state; and the Blackhole
+ * is plain arithmetic that the JIT may partly see through, unlike JMH's. Small differences
+ * between densities or engines are not significant.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public class PrecedenceBenchmark {
+
+	static final String[] ENGINES = {"permutate", "permutate.visitor"};
+
+	static final double[] DENSITIES = {0, 0.05, 0.1, 0.2, 0.4};
+
+	static final int N = 10;					// The number of objects
+
+	static final int WARMUP = 3;				// Warm-up iterations per measurement
+	static final int ITERATIONS = 5;			// Measured iterations per measurement
+
+	static volatile long sink;	// Where the Blackholes end up, so that their state is used
+
+	/**
+	 * Blackhole 		a sink for the objects visited, so that the JIT does not drop the work that produced them (a plain one, not that of JMH)
+	 */
+	static final class Blackhole {
+
+		private long state = 0;
+
+		void consume(long x){
+			state = state * 31 + x;
+		}
+	}
+
+	/**.
+	 * @param args[0]		optional, the number of objects (default 10)
+	 * @param args[1]		optional, the JSON file to write (default stdout)
+	 */
+	public static void main(String[] args) throws IOException {
+
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : N;
+
+		PrintWriter out = args.length > 1
+				? new PrintWriter(new OutputStreamWriter(new FileOutputStream(args[1]), "UTF-8"))
+				: new PrintWriter(System.out);
+
+		out.println("[");
+		boolean first = true;
+
+		for(double density : DENSITIES) {
+
+			int[][] AdjMat = new int[n+1][n+1];
+			int c = generate(AdjMat, n, density, new Random(n));
+
+			for(String engine : ENGINES) {
+
+				long[] visits = new long[1];
+				long[] ns = measure(engine, AdjMat, n, visits);
+
+				if(!first) out.println(",");
+				first = false;
+				writeResult(out, engine, n, density, c, ns, visits[0]);
+				out.flush();
+			}
+		}
+
+		out.println();
+		out.println("]");
+		out.flush();
+		if(args.length > 1) out.close();
+	}
+
+	/**
+	 * generate 		Constrain a fraction density of the pairs of objects, in the order of a random permutation
+	 * @return			the number of constraint pairs
+	 */
+	static int generate(int[][] AdjMat, int n, double density, Random random) {
+
+		// The constraints all follow the order of P[1...n], a random permutation of 1...n
+		int[] P = new int[n+1];
+		for(int i = 1; i <= n; i++) {
+			int j = 1 + random.nextInt(i);
+			P[i] = P[j];
+			P[j] = i;
+		}
+
+		// Constrain the first c of the pairs a < b, in random order
+		int[] pairs = new int[n*(n-1)/2];
+		for(int a = 1, p = 0; a <= n; a++) {
+			for(int b = a+1; b <= n; b++) {
+				pairs[p++] = a * (n+1) + b;
+			}
+		}
+		int c = (int) Math.round(density * pairs.length);
+		for(int p = 0; p < c; p++) {
+			int q = p + random.nextInt(pairs.length - p);
+			int pair = pairs[q]; pairs[q] = pairs[p]; pairs[p] = pair;
+
+			AdjMat[P[pair / (n+1)]][P[pair % (n+1)]] = 1;	// P[a] precedes P[b]
+		}
+		return c;
+	}
+
+	/**
+	 * measure 			Time the engine
+	 * @param visits	visits[0] is set to the number of permutations visited
+	 * @return			the nanoseconds per run of every measured iteration
+	 */
+	static long[] measure(String engine, int[][] AdjMat, int n, long[] visits) {
+
+		long[] ns = new long[ITERATIONS];
+		Blackhole bh = new Blackhole();
+
+		for(int it = -WARMUP; it < ITERATIONS; it++) {
+
+			long startTime = System.nanoTime();
+			long count = permutate(engine, AdjMat, n, bh);
+			long time = System.nanoTime() - startTime;
+
+			// Every run has to visit as many permutations as the first one
+			if(it == -WARMUP) visits[0] = count;
+			else if(count != visits[0]) {
+				throw new IllegalStateException(engine + " visited " + count + " permutations instead of " + visits[0]);
+			}
+			if(it >= 0) ns[it] = time;
+		}
+		sink = bh.state;
+		return ns;
+	}
+
+	/**
+	 * permutate 		Visit the permutations that satisfy the constraints with the engine
+	 * @return			the number of visits
+	 */
+	static long permutate(String engine, int[][] AdjMat, int n, Blackhole bh) {
+
+		switch(engine) {
+			case "permutate":
+				return kxh132430_PrecedenceConstraint.permutate(new int[n+1], AdjMat, n, 0, Checkpoint.NONE);
+			case "permutate.visitor":
+				return kxh132430_PrecedenceConstraint.permutate(AdjMat, n, a -> {
+					bh.consume(a.get(1));
+					return Visitor.Action.CONTINUE;
+				});
+			default:
+				throw new IllegalArgumentException("Unknown engine " + engine);
+		}
+	}
+
+	/**
+	 * writeResult 		Write one measurement as a JSON object
+	 */
+	static void writeResult(PrintWriter out, String engine, int n, double density, int c, long[] ns, long visits) {
+
+		long[] sorted = ns.clone();
+		Arrays.sort(sorted);
+
+		double mean = 0;
+		for(long t : ns) mean += t;
+		mean /= ns.length;
+
+		double variance = 0;
+		for(long t : ns) variance += (t - mean) * (t - mean);
+		double stddev = ns.length > 1 ? Math.sqrt(variance / (ns.length - 1)) : 0;
+
+		out.print("  {\"engine\": \"" + engine + "\"");
+		out.print(", \"n\": " + n);
+		out.print(", \"density\": " + density);
+		out.print(", \"constraints\": " + c);
+		out.print(", \"visits\": " + visits);
+		out.print(", \"warmupIterations\": " + WARMUP);
+		out.print(", \"iterations\": " + ns.length);
+		out.print(", \"unit\": \"ns/op\"");
+		out.print(", \"mean\": " + Math.round(mean));
+		out.print(", \"stddev\": " + Math.round(stddev));
+		out.print(", \"min\": " + sorted[0]);
+		out.print(", \"median\": " + sorted[sorted.length/2]);
+		out.print(", \"max\": " + sorted[sorted.length-1]);
+		out.print(", \"visitsPerSecond\": " + Math.round(visits * 1e9 / mean));
+		out.print("}");
+	}
+}
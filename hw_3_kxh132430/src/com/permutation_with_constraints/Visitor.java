@@ -0,0 +1,41 @@
+/**
+ * @(#)Visitor.java        1.0 	10/18/2026
+ */
+
+package com.permutation_with_constraints;
+
+/**
+ * The Visitor interface is called back by kxh132430_PrecedenceConstraint for every
+ * permutation that satisfies the constraints, in place of printing or counting it.
+ *
+ * The permutations are built by placing objects n, n-1, ..., 1 in turn. After placing
+ * object i, the engine asks acceptPrefix whether any permutation that extends the partial
+ * one is wanted, where the positions still free hold 0; if not, the whole subtree below
+ * it is skipped without being generated.
+ *
+ * @version 	1.0 October 18th, 2026
+ * @author 		KAI HUANG
+ */
+public interface Visitor {
+
+	/**
+	 * Action 			what the engine does after a visit
+	 */
+	enum Action { CONTINUE, STOP }
+
+	/**
+	 * visit 			visit a complete arrangement
+	 * @param A			A is a read-only view of the arrangement, valid until visit returns
+	 * @return			STOP to end the enumeration
+	 */
+	Action visit(Arrangement A);
+
+	/**
+	 * acceptPrefix 	decide whether to generate the arrangements that extend a partial one
+	 * @param prefix	prefix is a read-only view of the partial arrangement, valid until acceptPrefix returns
+	 * @return			false to skip every arrangement that extends prefix
+	 */
+	default boolean acceptPrefix(Arrangement prefix){
+		return true;
+	}
+}
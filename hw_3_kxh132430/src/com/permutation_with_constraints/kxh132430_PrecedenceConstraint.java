@@ -1,6 +1,6 @@
 package com.permutation_with_constraints;
 
-import java.util.Scanner;
+import java.util.Arrays;
 
 /**
  * The kxh132430_PrecedenceConstriant class visit all the enumeration of permutations satisfying precedence constraints). The program reads from its standard input (stdin)
@@ -15,8 +15,8 @@ public class kxh132430_PrecedenceConstraint {
 	public static void main(String[] args) {
 		// TODO Auto-generated method stub
 
-		// Initialize an Scanner object to get input from stdin
-		Scanner scan = new Scanner(System.in);
+		// Initialize an IntReader object to get input from stdin, or from the file of -Dinput=path
+		IntReader scan = IntReader.in();
 		System.out.println("Please enter your input as: n c v");
 		int n = scan.nextInt();		// n is the number of objects
 		int c = scan.nextInt();		// c is the number of constraint pairs
@@ -40,13 +40,17 @@ public class kxh132430_PrecedenceConstraint {
 
 		long startTime=0, endTime=0;	// The start and end time of running the algorithm
 
+		// With -Dcheckpoint=path, save the state from time to time, and resume from the state of an earlier run
+		// with the same input (see Checkpoint)
+		Checkpoint checkpoint = Checkpoint.open("precedence.permutation", n, v, Arrays.deepHashCode(AdjMat));
+
 		/* If verbose = 0, the program outputs one line with 2 integers:
 		 * 		the number of permutations of k objects out of n distinct objects, 
 		 * 		the time taken by the program in milliseconds. 
 		 * */
 		if( v == 0){
 			startTime = System.currentTimeMillis();
-			sum = permutate(A, AdjMat, n, n, 0); 	
+			sum = permutate(A, AdjMat, n, 0, checkpoint); 	
 			endTime = System.currentTimeMillis();
 		}
 
@@ -56,10 +60,13 @@ public class kxh132430_PrecedenceConstraint {
 		 * */
 		else {
 			startTime = System.currentTimeMillis();
-			sum = permutate(A, AdjMat, n, n, 1); 	
+			sum = permutate(A, AdjMat, n, 1, checkpoint); 	
+			OutputSink.finish();	// Write out what is still buffered
 			endTime = System.currentTimeMillis();
 		}
 
+		checkpoint.delete(0);	// The run is complete
+
 		// Print the total counts of all possible permutations and the time taken by the program in milliseconds.
 		System.out.println(sum + " " +(endTime - startTime));
 
@@ -76,32 +83,137 @@ public class kxh132430_PrecedenceConstraint {
 
 		// If verbose mode > 0, print all the possible permutations
 		if (verbose > 0) {
-			for(int i = 1; i <= n; i++) {
-				System.out.print(A[i] + " "); // print all elements
-			}
-			System.out.println();
+			OutputSink.out().line(A, 1, n); // print all elements
 		}
 		//Otherwise do nothing but increment the count by 1 
 		return ++count;
 	}
 
-	static long permutate(int []A, int[][] AdjMat, int i, int n, int v){
+	/**
+	 * permutate 				visit all permutations of 1...n that satisfy the constraints, saving the last one visited
+	 * 							to checkpoint from time to time. If checkpoint holds the state of an earlier run, the
+	 * 							walk skips the permutations visited before it, and the count includes them.
+	 * @param A					A is the array that holds the data, all 0
+	 * @param AdjMat			AdjMat[i][j] is 1 if i must precede j
+	 * @param n					n is the number of objects
+	 * @param v					v is the verbose
+	 * @param checkpoint		checkpoint is the checkpoint of the walk, or Checkpoint.NONE
+	 * @return count			count is the number of permutations visited
+	 */
+	static long permutate(int []A, int[][] AdjMat, int n, int v, Checkpoint checkpoint){
+
+		Progress progress = new Progress(v, checkpoint);
+		Checkpoint.State state = checkpoint.load();
+		if(state != null){
+			if(state.done) return state.count;
+			progress.count = state.count;
+		}
+
+		permutate(A, AdjMat, n, n, state == null ? null : state.A, progress);
+		checkpoint.finish(progress.count);
+		return progress.count;
+	}
+
+	/**
+	 * permutate 				place objects i...1 into the free positions of A. If from is not null, the walk starts
+	 * 							at the permutation from, which was visited already: object i goes to its position in
+	 * 							from first, and the positions before it are skipped.
+	 */
+	static void permutate(int []A, int[][] AdjMat, int i, int n, int[] from, Progress progress){
+
+		if(i == 0) {
+			if(from == null) progress.visit(A, n);
+			return;
+		}
+
+		int start = 1;
+		if(from != null){
+			while(from[start] != i) start++;
+		}
+
+		for(int k = start; k <= n; k++){
+			if(A[k] == 0){
+				if(!isOrdered(A, AdjMat, i, k, n)) continue; // If put i in A[k] violates any constraints, skip this step.
+				A[k] = i;
+				permutate(A, AdjMat, i-1, n, k == start ? from : null, progress);
+				A[k] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Progress 				the state of a walk with a checkpoint: the verbose and the count of visits
+	 */
+	static class Progress {
 
+		final int v;
+		final Checkpoint checkpoint;
 		long count = 0;
 
-		if(i == 0) count = visit(A, n ,v, count);
+		Progress(int v, Checkpoint checkpoint){
+			this.v = v; this.checkpoint = checkpoint;
+		}
+
+		void visit(int[] A, int n){
+			count = kxh132430_PrecedenceConstraint.visit(A, n, v, count);
+			if(checkpoint.due(count)) checkpoint.save(A, count);
+		}
+	}
+
+	/**
+	 * permutate 				visit all permutations of 1...n that satisfy the constraints, skipping the partial
+	 * 							permutations that the visitor rejects
+	 * @param AdjMat			AdjMat[i][j] is 1 if i must precede j
+	 * @param n					n is the number of objects
+	 * @param visitor			visitor is called back for every permutation and every partial one
+	 * @return count			count is the number of permutations visited
+	 */
+	public static long permutate(int[][] AdjMat, int n, Visitor visitor){
+
+		int[] A = new int[n+1];
+		Walk walk = new Walk(A, visitor);
+		permutate(A, AdjMat, n, n, walk);
+		return walk.count;
+	}
+
+	/**
+	 * permutate 				place objects i...1 into the free positions of A
+	 */
+	static void permutate(int []A, int[][] AdjMat, int i, int n, Walk walk){
+
+		if(i == 0) {
+			walk.count++;
+			walk.stopped = walk.visitor.visit(walk.view) == Visitor.Action.STOP;
+			return;
+		}
 
-		else{
-			for(int k = 1; k <= n; k++){
-				if(A[k] == 0){
-					if(!isOrdered(A, AdjMat, i, k, n)) continue; // If put i in A[k] violates any constraints, skip this step.
-					A[k] = i;
-					count += permutate(A, AdjMat, i-1, n, v);
-					A[k] = 0;
+		for(int k = 1; k <= n && !walk.stopped; k++){
+			if(A[k] == 0){
+				if(!isOrdered(A, AdjMat, i, k, n)) continue; // If put i in A[k] violates any constraints, skip this step.
+				A[k] = i;
+				if(i == 1 || walk.visitor.acceptPrefix(walk.view)) {
+					permutate(A, AdjMat, i-1, n, walk);
 				}
+				A[k] = 0;
 			}
 		}
-		return count;
+	}
+
+	/**
+	 * Walk 					the state of a walk with a visitor: the view of A, the count of visits
+	 * 							and whether the visitor asked to stop
+	 */
+	static class Walk {
+
+		final Visitor visitor;
+		final Arrangement view;
+		long count = 0;
+		boolean stopped = false;
+
+		Walk(int[] A, Visitor visitor){
+			this.visitor = visitor;
+			this.view = new Arrangement(A).of(1, A.length-1);
+		}
 	}
 
 	static boolean isOrdered(int[] A, int[][] AdjMat, int i, int k, int n){